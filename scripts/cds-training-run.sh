@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Builds an application class-data-sharing (AppCDS) archive for the packaged jar.
+#
+# The jar is unpacked into application.jar + lib/ so the JVM sees plain jar classpath entries
+# (CDS cannot archive classes loaded from nested jars or from directories). A training run starts the context with spring.context.exit=onRefresh,
+# which exits right after refresh, and dumps the loaded classes to application.jsa.
+#
+# Usage: scripts/cds-training-run.sh [profile]   (default profile: fast-startup)
+# Then:  cd target/cds && java -XX:SharedArchiveFile=application.jsa -Dspring.profiles.active=fast-startup \
+#            -cp "application.jar:lib/*" com.birthdayapp.BirthdayAppApplication
+set -euo pipefail
+
+PROFILE="${1:-fast-startup}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="$ROOT/target/cds"
+
+cd "$ROOT"
+mvn -B -q -DskipTests package
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+cd "$OUT"
+mkdir unpacked
+(cd unpacked && jar -xf "$ROOT"/target/birthday-countdown-*.jar)
+mv unpacked/BOOT-INF/lib lib
+jar --create --file application.jar -C unpacked/BOOT-INF/classes .
+rm -rf unpacked
+
+java -XX:ArchiveClassesAtExit=application.jsa \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.profiles.active="$PROFILE" \
+    -cp "application.jar:lib/*" \
+    com.birthdayapp.BirthdayAppApplication
+
+echo "CDS archive written to $OUT/application.jsa"
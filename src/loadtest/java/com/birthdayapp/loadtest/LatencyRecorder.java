@@ -0,0 +1,48 @@
+package com.birthdayapp.loadtest;
+
+import java.util.Arrays;
+
+// Latencies for one operation, recorded by one worker thread; workers' recorders are merged at the end
+class LatencyRecorder {
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long latencyNanos, boolean success) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count + other.count);
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getErrors() {
+        return errors;
+    }
+
+    // Sorts in place; call once recording has finished
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(latenciesNanos, 0, count);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return latenciesNanos[Math.max(0, Math.min(count - 1, index))] / 1_000_000.0;
+    }
+}
\ No newline at end of file
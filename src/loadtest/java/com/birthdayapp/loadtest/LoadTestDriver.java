@@ -0,0 +1,270 @@
+package com.birthdayapp.loadtest;
+
+import com.birthdayapp.dto.CreateBirthdayRequest;
+import com.birthdayapp.model.Birthday;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Seeds a running instance with synthetic data through the API, then replays a weighted mix of
+// requests from concurrent workers and prints throughput and latency percentiles per operation.
+//
+//   mvn -Ploadtest compile exec:java -Dexec.args="--seed-count=5000 --concurrency=32 --duration=60"
+//
+// Options (all --name=value): base-url, seed-count, concurrency, duration and warmup (seconds),
+// seed, today (yyyy-MM-dd, default the current date), leap-day-share, api-key, and mix, e.g.
+// list:10,upcoming:30,search:30,create:10,update:20. The same seed and today produce the same dataset
+// at any concurrency, and the same request sequence per worker: the dataset is generated up front,
+// each worker has its own generator and random source, and updates only target seeded entries, in
+// the order they were generated.
+public class LoadTestDriver {
+
+    enum Operation {
+        LIST, UPCOMING, SEARCH, CREATE, UPDATE
+    }
+
+    private static final Birthday.ReminderType[] REMINDER_TYPES = Birthday.ReminderType.values();
+
+    private final String baseUrl;
+    private final String apiKey;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final long seed;
+    private final double leapDayShare;
+    private final LocalDate today;
+    // Seeded entry ids in generation order, not completion order
+    private List<String> ids = List.of();
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+
+    LoadTestDriver(Map<String, String> options) {
+        this.baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        this.apiKey = options.get("api-key");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.leapDayShare = Double.parseDouble(options.getOrDefault("leap-day-share", "0.01"));
+        this.today = options.containsKey("today") ? LocalDate.parse(options.get("today")) : LocalDate.now();
+        this.mix = parseMix(options.getOrDefault("mix", "list:10,upcoming:30,search:30,create:10,update:20"));
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] parts = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(parts[0], parts.length > 1 ? parts[1] : "true");
+        }
+
+        LoadTestDriver driver = new LoadTestDriver(options);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        driver.seed(Integer.parseInt(options.getOrDefault("seed-count", "5000")), concurrency);
+        driver.run(concurrency,
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))));
+    }
+
+    void seed(int count, int concurrency) throws Exception {
+        System.out.printf("Seeding %d synthetic entries into %s%n", count, baseUrl);
+        long start = System.nanoTime();
+        SyntheticBirthdayGenerator generator = new SyntheticBirthdayGenerator(seed, leapDayShare, today, "s");
+        List<CreateBirthdayRequest> dataset = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dataset.add(generator.next());
+        }
+
+        String[] seeded = new String[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(executor.submit(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < count) {
+                    seeded[index] = create(dataset.get(index));
+                    if (seeded[index] == null) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        ids = Arrays.stream(seeded).filter(Objects::nonNull).toList();
+        System.out.printf("Seeded %d entries (%d failed) in %.1f s%n",
+                ids.size(), failed.get(), (System.nanoTime() - start) / 1e9);
+    }
+
+    void run(int concurrency, Duration warmup, Duration duration) throws Exception {
+        System.out.printf("Running %s with %d workers: %s warmup, %s measured%n", mix, concurrency, warmup, duration);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<Operation, LatencyRecorder>>> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i);
+            SyntheticBirthdayGenerator generator = new SyntheticBirthdayGenerator(seed + i, leapDayShare, today, "w" + i + "-");
+            workers.add(executor.submit(() -> work(random, generator, measureFrom, stopAt)));
+        }
+
+        Map<Operation, LatencyRecorder> results = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, LatencyRecorder>> worker : workers) {
+            worker.get().forEach((operation, recorder) ->
+                    results.computeIfAbsent(operation, ignored -> new LatencyRecorder()).merge(recorder));
+        }
+        executor.shutdown();
+        report(results, duration);
+    }
+
+    private Map<Operation, LatencyRecorder> work(SplittableRandom random, SyntheticBirthdayGenerator generator,
+                                                 long measureFrom, long stopAt) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        long now;
+        while ((now = System.nanoTime()) < stopAt) {
+            Operation operation = pickOperation(random);
+            int status;
+            try {
+                status = execute(operation, random, generator).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            long finished = System.nanoTime();
+            if (now >= measureFrom) {
+                recorders.computeIfAbsent(operation, ignored -> new LatencyRecorder())
+                        .record(finished - now, status >= 200 && status < 300);
+            }
+        }
+        return recorders;
+    }
+
+    private HttpResponse<String> execute(Operation operation, SplittableRandom random,
+                                         SyntheticBirthdayGenerator generator) throws Exception {
+        return switch (operation) {
+            case LIST -> send(request("/api/birthdays").GET());
+            case UPCOMING -> send(request("/api/birthdays/upcoming?days=30").GET());
+            // Short prefixes, as typed into a search box
+            case SEARCH -> send(request("/api/birthdays/search?name=" + URLEncoder.encode(
+                    searchTerm(random), StandardCharsets.UTF_8)).GET());
+            case CREATE -> send(createRequest(generator.next()));
+            case UPDATE -> {
+                String id = randomId(random);
+                String body = "{\"reminderType\":\"" + REMINDER_TYPES[random.nextInt(REMINDER_TYPES.length)] + "\"}";
+                yield send(request("/api/birthdays/" + id)
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(body)));
+            }
+        };
+    }
+
+    // The new entry's id, or null when the create failed
+    private String create(CreateBirthdayRequest birthday) throws Exception {
+        HttpResponse<String> response = send(createRequest(birthday));
+        if (response.statusCode() != 201) {
+            return null;
+        }
+        JsonNode id = objectMapper.readTree(response.body()).path("data").path("id");
+        return id.asText();
+    }
+
+    private HttpRequest.Builder createRequest(CreateBirthdayRequest birthday) throws Exception {
+        return request("/api/birthdays")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(birthday)));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (apiKey != null) {
+            builder.header("X-API-Key", apiKey);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder builder) throws Exception {
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String randomId(SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private String searchTerm(SplittableRandom random) {
+        String[] words = {"ad", "be", "chl", "el", "gar", "ito", "lu", "mü", "no", "ros", "sv", "we", "zo"};
+        return words[random.nextInt(words.length)];
+    }
+
+    private Operation pickOperation(SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private void report(Map<Operation, LatencyRecorder> results, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%n%-10s %10s %8s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        LatencyRecorder total = new LatencyRecorder();
+        results.forEach((operation, recorder) -> {
+            printRow(operation.name().toLowerCase(), recorder, seconds);
+            total.merge(recorder);
+        });
+        printRow("total", total, seconds);
+    }
+
+    private void printRow(String label, LatencyRecorder recorder, double seconds) {
+        System.out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                label, recorder.getCount(), recorder.getErrors(), recorder.getCount() / seconds,
+                recorder.percentileMillis(50), recorder.percentileMillis(95),
+                recorder.percentileMillis(99), recorder.percentileMillis(100));
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            int weight = Integer.parseInt(entry[1]);
+            if (weight > 0) {
+                weights.put(Operation.valueOf(entry[0].toUpperCase()), weight);
+            }
+        }
+        return weights;
+    }
+}
\ No newline at end of file
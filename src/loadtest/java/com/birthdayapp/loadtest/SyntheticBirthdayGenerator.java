@@ -0,0 +1,127 @@
+package com.birthdayapp.loadtest;
+
+import com.birthdayapp.dto.CreateBirthdayRequest;
+import com.birthdayapp.model.Birthday;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Random;
+
+// Produces a repeatable mix of entries shaped like real data: most are yearly birthdays of adults,
+// with anniversaries, holidays and one-off, monthly and weekly reminders mixed in. Feb 29 is
+// overrepresented so leap-day handling is always exercised. Not thread-safe; each worker uses its own,
+// with its own label so names never collide.
+public class SyntheticBirthdayGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Ada", "Ben", "Chloe", "Dmitri", "Elena", "Farah", "George", "Hana", "Ivan", "Julia",
+        "Kenji", "Lucia", "Mateo", "Nina", "Omar", "Priya", "Quinn", "Rosa", "Sven", "Tariq",
+        "Uma", "Victor", "Wen", "Ximena", "Yusuf", "Zoe"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Anders", "Brown", "Costa", "Dubois", "Eriksen", "Fischer", "Garcia", "Horvat", "Ito", "Jensen",
+        "Kowalski", "Lopez", "Müller", "Nakamura", "O'Brien", "Petrov", "Rossi", "Silva", "Tanaka", "Weber"
+    };
+
+    private static final String[] OCCASIONS = {
+        "Dentist", "Car service", "Book club", "Rent", "Team lunch", "Yoga", "Passport renewal", "Concert"
+    };
+
+    private final Random random;
+    private final double leapDayShare;
+    // Dates are placed relative to this day, so fixing it makes the data independent of the run date
+    private final LocalDate today;
+    private final String label;
+    // Keeps name and date pairs unique, as the store requires
+    private long sequence;
+
+    public SyntheticBirthdayGenerator(long seed, double leapDayShare, LocalDate today, String label) {
+        this.random = new Random(seed);
+        this.leapDayShare = leapDayShare;
+        this.today = today;
+        this.label = label;
+    }
+
+    public CreateBirthdayRequest next() {
+        Birthday.EventType eventType = pick(Birthday.EventType.values(), 70, 15, 5, 10);
+        Birthday.RepeatType repeatType;
+        LocalDate date;
+        String name;
+
+        switch (eventType) {
+            case BIRTHDAY -> {
+                repeatType = Birthday.RepeatType.YEARLY;
+                date = birthDate();
+                name = personName();
+            }
+            case ANNIVERSARY -> {
+                repeatType = Birthday.RepeatType.YEARLY;
+                date = randomDayIn(today.getYear() - 1 - random.nextInt(50));
+                name = personName() + " & " + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            }
+            case HOLIDAY -> {
+                repeatType = Birthday.RepeatType.YEARLY;
+                date = randomDayIn(today.getYear());
+                name = "Holiday";
+            }
+            default -> {
+                repeatType = pick(Birthday.RepeatType.values(), 40, 0, 30, 30);
+                // One-off events sit within a year either side of today, half of them already past
+                date = repeatType == Birthday.RepeatType.NEVER
+                        ? today.plusDays(random.nextInt(730) - 365)
+                        : today.minusDays(random.nextInt(365));
+                name = OCCASIONS[random.nextInt(OCCASIONS.length)];
+            }
+        }
+
+        return new CreateBirthdayRequest(
+                name + " #" + label + ++sequence,
+                date,
+                pick(Birthday.ReminderType.values(), 10, 40, 30, 15, 5),
+                repeatType,
+                eventType,
+                pick(Birthday.ShowPreference.values(), 50, 20, 30),
+                random.nextInt(10) < 7);
+    }
+
+    private LocalDate birthDate() {
+        // Mostly adults around 35, a tail of children and elderly relatives
+        int age = random.nextInt(10) == 0
+                ? random.nextInt(18)
+                : (int) Math.min(95, Math.max(18, Math.round(35 + random.nextGaussian() * 15)));
+        int year = today.getYear() - age;
+
+        if (random.nextDouble() < leapDayShare) {
+            while (!Year.isLeap(year)) {
+                year--;
+            }
+            return LocalDate.of(year, 2, 29);
+        }
+        LocalDate date = randomDayIn(year);
+        return date.isAfter(today) ? date.minusYears(1) : date;
+    }
+
+    private String personName() {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private LocalDate randomDayIn(int year) {
+        return Year.of(year).atDay(1 + random.nextInt(Year.of(year).length()));
+    }
+
+    private <T> T pick(T[] values, int... weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+}
\ No newline at end of file
@@ -2,8 +2,14 @@ package com.birthdayapp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableAsync
+@EnableScheduling
+@ImportRuntimeHints(BirthdayAppRuntimeHints.class)
 public class BirthdayAppApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,18 @@
+package com.birthdayapp;
+
+import com.birthdayapp.logging.JsonLineLayout;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+// Classes instantiated reflectively outside Spring's view, needed for the native image build
+public class BirthdayAppRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(JsonLineLayout.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.resources().registerPattern("logback-spring.xml");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.birthdayapp.changes;
+
+import com.birthdayapp.dto.BirthdayResponse;
+import com.birthdayapp.dto.DayRolloverResponse;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+public class BirthdayChangeEvent {
+
+    // RESYNC tells clients to refetch everything, e.g. after a bulk delete or when their resume point is gone.
+    // ROLLOVER carries the midnight countdown changes for one time zone.
+    public enum Type {
+        CREATED, UPDATED, DELETED, RESYNC, ROLLOVER
+    }
+
+    private long sequence;
+    private String eventId;
+    private Type type;
+    private String birthdayId;
+    private BirthdayResponse birthday;
+    private DayRolloverResponse rollover;
+    private Instant occurredAt;
+
+    public BirthdayChangeEvent() {}
+
+    public BirthdayChangeEvent(long sequence, String eventId, Type type, String birthdayId, BirthdayResponse birthday) {
+        this.sequence = sequence;
+        this.eventId = eventId;
+        this.type = type;
+        this.birthdayId = birthdayId;
+        this.birthday = birthday;
+        this.occurredAt = Instant.now();
+    }
+
+    @JsonIgnore
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getBirthdayId() {
+        return birthdayId;
+    }
+
+    public void setBirthdayId(String birthdayId) {
+        this.birthdayId = birthdayId;
+    }
+
+    public BirthdayResponse getBirthday() {
+        return birthday;
+    }
+
+    public void setBirthday(BirthdayResponse birthday) {
+        this.birthday = birthday;
+    }
+
+    public DayRolloverResponse getRollover() {
+        return rollover;
+    }
+
+    public void setRollover(DayRolloverResponse rollover) {
+        this.rollover = rollover;
+    }
+
+    // Only connections subscribed in this zone receive the event; null for all
+    @JsonIgnore
+    public String getZone() {
+        return rollover != null ? rollover.getZone() : null;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
\ No newline at end of file
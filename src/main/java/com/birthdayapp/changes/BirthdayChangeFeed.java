@@ -0,0 +1,287 @@
+package com.birthdayapp.changes;
+
+import com.birthdayapp.dto.BirthdayResponse;
+import com.birthdayapp.dto.DayRolloverResponse;
+import com.birthdayapp.model.Birthday;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fans birthday changes out to SSE clients. Events come from the Mongo change stream while one is open,
+// otherwise from BirthdayService writes. Event ids are "<epoch>-<sequence>" so a client reconnecting with
+// Last-Event-ID gets the events it missed, or a RESYNC when they are no longer held or came from another run.
+@Component
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class BirthdayChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(BirthdayChangeFeed.class);
+
+    // Threads stuck in abandoned sends are replaced, up to this multiple of dispatch-threads
+    private static final int MAX_DISPATCH_THREAD_FACTOR = 4;
+
+    @Autowired
+    private ChangeFeedProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Deque<BirthdayChangeEvent> history = new ArrayDeque<>();
+
+    private final Set<ChangeFeedConnection> connections = ConcurrentHashMap.newKeySet();
+
+    private long sequence;
+
+    private volatile boolean externalSourceActive;
+
+    private ThreadPoolExecutor dispatchExecutor;
+
+    // Dispatch threads blocked in sends of abandoned connections; guarded by dispatchExecutor
+    private int stalledThreads;
+
+    private Counter overflowCounter;
+
+    private Counter stalledCounter;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, properties.getDispatchThreads());
+        dispatchExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getDispatchQueueSize())), runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("birthday.changes.connections", connections, Set::size).register(meterRegistry);
+        overflowCounter = Counter.builder("birthday.changes.overflows")
+                .description("Connections closed because their buffer or the dispatch queue filled up")
+                .register(meterRegistry);
+        stalledCounter = Counter.builder("birthday.changes.stalled")
+                .description("Connections abandoned because a send blocked past the send timeout")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String lastEventId, ZoneId zone) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        ChangeFeedConnection connection = new ChangeFeedConnection(emitter, zone, properties.getBufferSize());
+        emitter.onCompletion(() -> connections.remove(connection));
+        emitter.onTimeout(connection::close);
+        emitter.onError(error -> connections.remove(connection));
+
+        // Backlog and registration happen under the publish lock so nothing is missed or sent twice
+        synchronized (this) {
+            List<BirthdayChangeEvent> backlog = backlogSince(lastEventId);
+            if (backlog == null || backlog.size() > properties.getBufferSize()) {
+                connection.offer(event(sequence, BirthdayChangeEvent.Type.RESYNC, null, null));
+            } else {
+                backlog.stream().filter(connection::accepts).forEach(connection::offer);
+            }
+            connections.add(connection);
+        }
+
+        dispatch(connection);
+        return emitter;
+    }
+
+    // Changes observed on the database itself, e.g. through a change stream
+    public void publish(BirthdayChangeEvent.Type type, String birthdayId, Birthday birthday) {
+        publish(type, birthdayId, birthday != null ? new BirthdayResponse(birthday) : null, null);
+    }
+
+    // Sent only to connections subscribed in the rollover's zone
+    public void publishRollover(DayRolloverResponse rollover) {
+        publish(BirthdayChangeEvent.Type.ROLLOVER, null, null, rollover);
+    }
+
+    // Zones with at least one open connection, each with the earliest local date one of them connected on
+    public Map<ZoneId, LocalDate> getSubscribedZones() {
+        Map<ZoneId, LocalDate> zones = new HashMap<>();
+        connections.forEach(connection -> zones.merge(connection.getZone(), connection.getConnectedOn(),
+                (a, b) -> a.isBefore(b) ? a : b));
+        return zones;
+    }
+
+    private void publish(BirthdayChangeEvent.Type type, String birthdayId, BirthdayResponse birthday, DayRolloverResponse rollover) {
+        BirthdayChangeEvent event;
+        List<ChangeFeedConnection> accepted = new ArrayList<>();
+        List<ChangeFeedConnection> overflowed = new ArrayList<>();
+        synchronized (this) {
+            event = event(++sequence, type, birthdayId, birthday);
+            event.setRollover(rollover);
+            history.addLast(event);
+            while (history.size() > properties.getHistorySize()) {
+                history.removeFirst();
+            }
+
+            for (ChangeFeedConnection connection : connections) {
+                if (!connection.accepts(event)) {
+                    continue;
+                }
+                if (connection.offer(event)) {
+                    accepted.add(connection);
+                } else {
+                    connections.remove(connection);
+                    overflowed.add(connection);
+                }
+            }
+        }
+
+        for (ChangeFeedConnection connection : overflowed) {
+            connection.close();
+            overflowCounter.increment();
+            logger.debug("Closed change feed connection whose buffer was full");
+        }
+        accepted.forEach(this::dispatch);
+    }
+
+    // Queues a drain unless one is already pending. A full queue means the dispatch threads are far behind,
+    // so the connection is closed and resumes from its last event id like one whose buffer filled up.
+    private void dispatch(ChangeFeedConnection connection) {
+        if (!connection.schedule()) {
+            return;
+        }
+        try {
+            dispatchExecutor.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            connections.remove(connection);
+            connection.close();
+            overflowCounter.increment();
+            logger.debug("Closed change feed connection because the dispatch queue was full");
+        }
+    }
+
+    private void drain(ChangeFeedConnection connection) {
+        connection.drain();
+        if (connection.releaseAbandoned()) {
+            resizeDispatchPool(-1);
+        }
+    }
+
+    // Writes made through BirthdayService; ignored while the change stream reports them instead
+    public void publishFromService(BirthdayChangeEvent.Type type, String birthdayId, Birthday birthday) {
+        if (!externalSourceActive) {
+            publish(type, birthdayId, birthday);
+        }
+    }
+
+    public void setExternalSourceActive(boolean externalSourceActive) {
+        this.externalSourceActive = externalSourceActive;
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    // Keeps idle connections open through proxies that drop silent streams
+    @Scheduled(fixedDelayString = "${birthday.changes.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (ChangeFeedConnection connection : connections) {
+            connection.requestHeartbeat();
+            dispatch(connection);
+        }
+    }
+
+    // A blocked send holds its dispatch thread until the socket write times out. The connection is dropped
+    // and another thread is started in its place, so other subscribers keep receiving events meanwhile.
+    @Scheduled(fixedDelayString = "${birthday.changes.stall-check-interval-ms:1000}")
+    public void abandonStalledConnections() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSendTimeoutMs());
+        for (ChangeFeedConnection connection : connections) {
+            if (connection.abandonIfStalled(now, timeoutNanos)) {
+                connections.remove(connection);
+                stalledCounter.increment();
+                resizeDispatchPool(1);
+                logger.debug("Abandoned change feed connection whose send blocked for over {} ms", properties.getSendTimeoutMs());
+            }
+        }
+    }
+
+    private void resizeDispatchPool(int delta) {
+        synchronized (dispatchExecutor) {
+            stalledThreads += delta;
+            int threads = Math.max(1, properties.getDispatchThreads());
+            int size = Math.min(threads + stalledThreads, threads * MAX_DISPATCH_THREAD_FACTOR);
+            if (size > dispatchExecutor.getMaximumPoolSize()) {
+                dispatchExecutor.setMaximumPoolSize(size);
+                dispatchExecutor.setCorePoolSize(size);
+            } else {
+                dispatchExecutor.setCorePoolSize(size);
+                dispatchExecutor.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.forEach(ChangeFeedConnection::close);
+        connections.clear();
+        dispatchExecutor.shutdownNow();
+    }
+
+    // Events after the given id, or null when the client must resync
+    private List<BirthdayChangeEvent> backlogSince(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        if (lastSequence > sequence) {
+            return null;
+        }
+        if (lastSequence < sequence && (history.isEmpty() || history.peekFirst().getSequence() > lastSequence + 1)) {
+            return null;
+        }
+
+        List<BirthdayChangeEvent> backlog = new ArrayList<>();
+        for (BirthdayChangeEvent event : history) {
+            if (event.getSequence() > lastSequence) {
+                backlog.add(event);
+            }
+        }
+        return backlog;
+    }
+
+    private BirthdayChangeEvent event(long eventSequence, BirthdayChangeEvent.Type type, String birthdayId, BirthdayResponse birthday) {
+        return new BirthdayChangeEvent(eventSequence, epoch + "-" + eventSequence, type, birthdayId, birthday);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.birthdayapp.changes;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One SSE client with its own bounded buffer. Publishing only queues events; a dispatch thread writes
+// them, and a send that blocks past the send timeout gets the connection abandoned by the feed.
+final class ChangeFeedConnection {
+
+    private final SseEmitter emitter;
+    private final ZoneId zone;
+    private final LocalDate connectedOn;
+    private final BlockingQueue<BirthdayChangeEvent> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean heartbeatDue;
+    private volatile boolean closed;
+
+    // Guarded by this; sendStartedNanos is 0 while no send is in progress
+    private long sendStartedNanos;
+    private boolean abandoned;
+
+    ChangeFeedConnection(SseEmitter emitter, ZoneId zone, int bufferSize) {
+        this.emitter = emitter;
+        this.zone = zone;
+        this.connectedOn = LocalDate.now(zone);
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    ZoneId getZone() {
+        return zone;
+    }
+
+    // The local date in the connection's zone when it subscribed
+    LocalDate getConnectedOn() {
+        return connectedOn;
+    }
+
+    boolean accepts(BirthdayChangeEvent event) {
+        return event.getZone() == null || event.getZone().equals(zone.getId());
+    }
+
+    // False when the buffer is full; the caller closes the connection
+    boolean offer(BirthdayChangeEvent event) {
+        return !closed && buffer.offer(event);
+    }
+
+    // True when no drain is pending yet, so the caller queues one; at most one task per connection waits
+    boolean schedule() {
+        return !closed && scheduled.compareAndSet(false, true);
+    }
+
+    // Sent on the next drain unless an event goes out first
+    void requestHeartbeat() {
+        heartbeatDue = true;
+    }
+
+    // Sends buffered events on the calling thread; only one thread drains a connection at a time
+    void drain() {
+        scheduled.set(false);
+        while (!closed && (!buffer.isEmpty() || heartbeatDue) && draining.compareAndSet(false, true)) {
+            try {
+                BirthdayChangeEvent event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    heartbeatDue = false;
+                    send(SseEmitter.event()
+                            .id(event.getEventId())
+                            .name(event.getType().name().toLowerCase(Locale.ROOT))
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+                if (!closed && heartbeatDue) {
+                    heartbeatDue = false;
+                    send(SseEmitter.event().comment("keepalive"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the emitter
+                closed = true;
+            } finally {
+                draining.set(false);
+            }
+        }
+        // close() leaves completing to this thread while a send holds the emitter's lock
+        if (closed) {
+            complete();
+        }
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        synchronized (this) {
+            sendStartedNanos = System.nanoTime();
+        }
+        try {
+            emitter.send(event);
+        } finally {
+            synchronized (this) {
+                sendStartedNanos = 0;
+            }
+        }
+    }
+
+    // Marks the connection closed when its current send has blocked longer than the timeout. The
+    // blocked thread is only freed when the write fails, so the caller makes up for it.
+    synchronized boolean abandonIfStalled(long nowNanos, long timeoutNanos) {
+        if (abandoned || sendStartedNanos == 0 || nowNanos - sendStartedNanos < timeoutNanos) {
+            return false;
+        }
+        abandoned = true;
+        closed = true;
+        return true;
+    }
+
+    // True once, on the draining thread, after an abandoned send finally returned
+    synchronized boolean releaseAbandoned() {
+        if (!abandoned || sendStartedNanos != 0) {
+            return false;
+        }
+        abandoned = false;
+        return true;
+    }
+
+    // Never blocks: completing the emitter waits for a send in progress, so a draining thread does it
+    void close() {
+        closed = true;
+        if (!draining.get()) {
+            complete();
+        }
+    }
+
+    private void complete() {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // Already completed
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.birthdayapp.changes;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "birthday.changes")
+public class ChangeFeedProperties {
+
+    // Events queued per connection before a slow client is disconnected; it resumes with Last-Event-ID
+    private int bufferSize = 256;
+
+    // Recent events kept for clients that reconnect with Last-Event-ID
+    private int historySize = 1024;
+
+    // Connections are closed after this long so clients reconnect through the load balancer
+    private long timeoutMs = 1_800_000;
+
+    // Threads that write queued events to clients
+    private int dispatchThreads = 4;
+
+    // Pending drains across all connections; each connection has at most one queued
+    private int dispatchQueueSize = 10_000;
+
+    // A connection whose write blocks longer than this is dropped and its dispatch thread replaced
+    private long sendTimeoutMs = 10_000;
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    public void setHistorySize(int historySize) {
+        this.historySize = historySize;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public int getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+    public void setDispatchThreads(int dispatchThreads) {
+        this.dispatchThreads = dispatchThreads;
+    }
+
+    public int getDispatchQueueSize() {
+        return dispatchQueueSize;
+    }
+
+    public void setDispatchQueueSize(int dispatchQueueSize) {
+        this.dispatchQueueSize = dispatchQueueSize;
+    }
+
+    public long getSendTimeoutMs() {
+        return sendTimeoutMs;
+    }
+
+    public void setSendTimeoutMs(long sendTimeoutMs) {
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+}
\ No newline at end of file
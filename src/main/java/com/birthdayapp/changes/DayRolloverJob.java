@@ -0,0 +1,72 @@
+package com.birthdayapp.changes;
+
+import com.birthdayapp.dto.DayRolloverResponse;
+import com.birthdayapp.service.BirthdayService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Pushes one ROLLOVER event per time zone when its date changes, so connected clients update their
+// countdowns without refetching. Only zones with open connections are computed.
+@Component
+@ConditionalOnProperty(name = "birthday.changes.rollover.enabled", havingValue = "true", matchIfMissing = true)
+public class DayRolloverJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DayRolloverJob.class);
+
+    @Autowired
+    private BirthdayService birthdayService;
+
+    @Autowired
+    private BirthdayChangeFeed changeFeed;
+
+    @Value("${birthday.changes.rollover.window-days:7}")
+    private int windowDays;
+
+    private final Map<ZoneId, LocalDate> lastDates = new ConcurrentHashMap<>();
+
+    @Scheduled(cron = "${birthday.changes.rollover.cron:0 * * * * *}")
+    public void publishRollovers() {
+        Map<ZoneId, LocalDate> zones = changeFeed.getSubscribedZones();
+        // Zones without connections are kept for a day, so a client reconnecting across midnight
+        // (e.g. after the SSE timeout) still gets that day's rollover
+        lastDates.entrySet().removeIf(entry -> !zones.containsKey(entry.getKey())
+                && entry.getValue().isBefore(LocalDate.now(entry.getKey()).minusDays(1)));
+        
+        for (Map.Entry<ZoneId, LocalDate> subscribed : zones.entrySet()) {
+            ZoneId zone = subscribed.getKey();
+            LocalDate today = LocalDate.now(zone);
+            // A zone seen for the first time compares against the date its first client connected on,
+            // so connecting just before midnight still gets that night's rollover
+            LocalDate last = lastDates.put(zone, today);
+            if (last == null) {
+                last = subscribed.getValue();
+            }
+            if (!today.isAfter(last)) {
+                continue;
+            }
+            
+            try {
+                DayRolloverResponse rollover = birthdayService.getDayRollover(zone, today, windowDays);
+                changeFeed.publishRollover(rollover);
+                logger.info("Published rollover to {} for {}: {} due, {} entered and {} left the {}-day window",
+                        today, zone, rollover.getDueToday().size(), rollover.getEnteredWindow().size(),
+                        rollover.getLeftWindow().size(), windowDays);
+            } catch (RuntimeException e) {
+                // Retry on the next tick
+                lastDates.put(zone, last);
+                logger.warn("Rollover for {} failed: {}", zone, e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.birthdayapp.changes;
+
+import com.birthdayapp.model.Birthday;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+
+// Tails the birthdays change stream so edits made by any instance, or directly in the database, reach
+// the change feed. Resumes from the last seen token after errors. Standalone servers have no change
+// streams; then the watcher stops and the feed keeps publishing from BirthdayService writes.
+@Component
+@Profile("!embedded")
+@ConditionalOnProperty(name = "birthday.changes.change-streams.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoChangeStreamWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoChangeStreamWatcher.class);
+
+    // Change streams require a replica set or sharded cluster
+    private static final Set<Integer> UNSUPPORTED_CODES = Set.of(40573, 40324);
+
+    // The resume token has fallen off the oplog, is not one the stream can resume after (InvalidResumeToken),
+    // or the stream can't continue from it
+    private static final Set<Integer> HISTORY_LOST_CODES = Set.of(260, 280, 286);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BirthdayChangeFeed changeFeed;
+
+    @Value("${birthday.changes.change-streams.retry-initial-ms:1000}")
+    private long retryInitialMs;
+
+    @Value("${birthday.changes.change-streams.retry-max-ms:60000}")
+    private long retryMaxMs;
+
+    private volatile boolean running = true;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private BsonDocument resumeToken;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::watch, "birthday-change-stream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void watch() {
+        long backoffMs = retryInitialMs;
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = open()) {
+                cursor = opened;
+                changeFeed.setExternalSourceActive(true);
+                backoffMs = retryInitialMs;
+                logger.info("Watching birthdays through a change stream");
+
+                while (running && opened.hasNext()) {
+                    ChangeStreamDocument<Document> change = opened.next();
+                    if (!dispatch(change)) {
+                        // The token of an invalidating event cannot be resumed after, so start a new stream
+                        resumeToken = null;
+                        break;
+                    }
+                    resumeToken = change.getResumeToken();
+                }
+            } catch (MongoCommandException e) {
+                changeFeed.setExternalSourceActive(false);
+                if (UNSUPPORTED_CODES.contains(e.getErrorCode())) {
+                    logger.info("Change streams are not available ({}); publishing changes from service writes", e.getErrorMessage());
+                    return;
+                }
+                if (HISTORY_LOST_CODES.contains(e.getErrorCode())) {
+                    logger.warn("Change stream could not resume ({}); clients will resync", e.getErrorMessage());
+                    resumeToken = null;
+                    changeFeed.publish(BirthdayChangeEvent.Type.RESYNC, null, null);
+                    continue;
+                }
+                backoffMs = retryAfter(e, backoffMs);
+            } catch (RuntimeException e) {
+                changeFeed.setExternalSourceActive(false);
+                backoffMs = retryAfter(e, backoffMs);
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Birthday.class))
+                .watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    // Returns false once the stream has been invalidated
+    private boolean dispatch(ChangeStreamDocument<Document> change) {
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                Document document = change.getFullDocument();
+                // Null when the document was deleted before the update lookup ran; its delete event follows
+                if (document != null) {
+                    Birthday birthday = mongoTemplate.getConverter().read(Birthday.class, document);
+                    BirthdayChangeEvent.Type type = change.getOperationType() == OperationType.INSERT
+                            ? BirthdayChangeEvent.Type.CREATED
+                            : BirthdayChangeEvent.Type.UPDATED;
+                    changeFeed.publish(type, birthday.getId(), birthday);
+                }
+            }
+            case DELETE -> changeFeed.publish(BirthdayChangeEvent.Type.DELETED, idOf(change.getDocumentKey()), null);
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> {
+                // An invalidated stream cannot be resumed; have clients refetch
+                changeFeed.publish(BirthdayChangeEvent.Type.RESYNC, null, null);
+                return false;
+            }
+            default -> {
+                // Other operation types don't change birthdays
+            }
+        }
+        return true;
+    }
+
+    private long retryAfter(RuntimeException e, long backoffMs) {
+        if (!running) {
+            return backoffMs;
+        }
+        logger.warn("Change stream failed, retrying in {} ms: {}", backoffMs, e.getMessage());
+        try {
+            Thread.sleep(backoffMs);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        return Math.min(backoffMs * 2, retryMaxMs);
+    }
+
+    private static String idOf(BsonDocument documentKey) {
+        BsonValue id = documentKey != null ? documentKey.get("_id") : null;
+        if (id == null) {
+            return null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+}
\ No newline at end of file
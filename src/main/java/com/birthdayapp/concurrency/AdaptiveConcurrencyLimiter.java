@@ -0,0 +1,130 @@
+package com.birthdayapp.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Gradient-style limit on concurrent service calls: when recent latency rises above the long-run
+// average the limit shrinks, and it grows back while latency stays flat. Database errors cut it
+// multiplicatively. Lock-free; the limit and both averages are swapped together as one immutable state.
+@Component
+@ConditionalOnProperty(name = "birthday.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class AdaptiveConcurrencyLimiter {
+
+    // Averages over roughly the last 10 and 500 calls
+    private static final double SHORT_ALPHA = 2.0 / 11;
+    private static final double LONG_ALPHA = 2.0 / 501;
+
+    // Share of each new estimate blended into the limit
+    private static final double SMOOTHING = 0.2;
+
+    @Autowired
+    private ConcurrencyLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicReference<LimitState> state = new AtomicReference<>();
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        state.set(new LimitState(properties.getInitialLimit(), 0, 0));
+        Gauge.builder("birthday.concurrency.limit", state, current -> current.get().limit)
+                .description("Current adaptive limit on concurrent service calls")
+                .register(meterRegistry);
+        Gauge.builder("birthday.concurrency.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        rejectedCounter = Counter.builder("birthday.concurrency.rejected")
+                .description("Requests shed because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        int limit = (int) state.get().limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedCounter.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        state.updateAndGet(current -> current.sample(latencyNanos, inFlightBefore, properties));
+    }
+
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        state.updateAndGet(current -> current.backOff(properties));
+    }
+
+    // For calls that failed for reasons unrelated to load, e.g. validation
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) state.get().limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private static final class LimitState {
+
+        private final double limit;
+        private final double shortRtt;
+        private final double longRtt;
+
+        private LimitState(double limit, double shortRtt, double longRtt) {
+            this.limit = limit;
+            this.shortRtt = shortRtt;
+            this.longRtt = longRtt;
+        }
+
+        private LimitState sample(long latencyNanos, int inFlight, ConcurrencyLimitProperties properties) {
+            double newShort = shortRtt == 0 ? latencyNanos : shortRtt + SHORT_ALPHA * (latencyNanos - shortRtt);
+            double newLong = longRtt == 0 ? latencyNanos : longRtt + LONG_ALPHA * (latencyNanos - longRtt);
+            // Let the baseline recover after a slow period instead of anchoring on it
+            if (newLong > newShort * 2) {
+                newLong *= 0.95;
+            }
+
+            // Mostly idle: latency says nothing about how much more load the store could take
+            if (inFlight < limit / 2) {
+                return new LimitState(limit, newShort, newLong);
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * newLong / newShort));
+            double estimate = limit * gradient + Math.sqrt(limit);
+            double newLimit = limit * (1 - SMOOTHING) + estimate * SMOOTHING;
+            return new LimitState(clamp(newLimit, properties), newShort, newLong);
+        }
+
+        private LimitState backOff(ConcurrencyLimitProperties properties) {
+            return new LimitState(clamp(limit * properties.getBackoffRatio(), properties), shortRtt, longRtt);
+        }
+
+        private static double clamp(double limit, ConcurrencyLimitProperties properties) {
+            return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), limit));
+        }
+    }
+}
\ No newline at end of file
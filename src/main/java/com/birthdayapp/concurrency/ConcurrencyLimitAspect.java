@@ -0,0 +1,53 @@
+package com.birthdayapp.concurrency;
+
+import com.birthdayapp.exception.ServiceOverloadedException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// Sheds API requests once too many @ConcurrencyLimited service calls are in flight, so a slow database answers
+// quickly with 503 instead of piling requests onto Tomcat threads and the connection pool
+@Aspect
+@Component
+@ConditionalOnProperty(name = "birthday.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitAspect {
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Autowired
+    private ConcurrencyLimitProperties properties;
+
+    @Around("@annotation(com.birthdayapp.concurrency.ConcurrencyLimited)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Scheduled jobs run outside a request and are never shed
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return joinPoint.proceed();
+        }
+
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException(properties.getRetryAfterSeconds());
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            limiter.onSuccess(System.nanoTime() - startNanos);
+            return result;
+        } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+            // Timeouts and unreachable servers signal overload; client errors such as duplicate keys do not
+            limiter.onDropped();
+            throw e;
+        } catch (Throwable e) {
+            limiter.onIgnored();
+            throw e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.birthdayapp.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Service methods that reach the store and count against the adaptive concurrency limit; see
+// ConcurrencyLimitAspect. Pure helpers stay unmarked so their latency does not skew the limit.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+}
\ No newline at end of file
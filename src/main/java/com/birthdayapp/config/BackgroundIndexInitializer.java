@@ -0,0 +1,77 @@
+package com.birthdayapp.config;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.BirthdayTombstone;
+import com.birthdayapp.model.Friendship;
+import com.birthdayapp.model.IdempotencyRecord;
+import com.birthdayapp.model.TimelineEntry;
+import com.birthdayapp.model.UpcomingBirthday;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// With birthday.mongo.auto-index-creation=false, ensures the declared indexes once the app is up,
+// retrying until Mongo is reachable instead of blocking startup on it
+@Component
+@Profile("!embedded")
+public class BackgroundIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundIndexInitializer.class);
+
+    private static final long MAX_BACKOFF_MS = 60000;
+
+    private static final List<Class<?>> INDEXED_TYPES = List.of(Birthday.class, BirthdayTombstone.class, UpcomingBirthday.class,
+            IdempotencyRecord.class, Friendship.class, TimelineEntry.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mongoMappingContext;
+
+    @Autowired
+    private MongoClientProperties mongoClientProperties;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (mongoClientProperties.isAutoIndexCreation()) {
+            return;
+        }
+
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+        long backoffMs = 1000;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                for (Class<?> type : INDEXED_TYPES) {
+                    IndexOperations indexOps = mongoTemplate.indexOps(type);
+                    resolver.resolveIndexFor(type).forEach(indexOps::ensureIndex);
+                    logger.info("Ensured indexes for {} in the background", type.getSimpleName());
+                }
+                return;
+            } catch (Exception e) {
+                logger.warn("Background index creation failed, retrying in {}ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.birthdayapp.config;
+
+import com.birthdayapp.model.Birthday;
+
+import com.mongodb.ReadPreference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Component
+@Profile("!embedded")
+public class BirthdayFieldMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(BirthdayFieldMigration.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoClientProperties mongoClientProperties;
+
+    // Backfills derived fields on documents written before those fields existed. Documents without the
+    // source field have nothing to derive, so they are left out rather than matched on every startup.
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillDerivedFields() {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("month").exists(false).and("date").ne(null),
+                Criteria.where("normalizedName").exists(false).and("name").ne(null)))
+                .withReadPreference(ReadPreference.valueOf(mongoClientProperties.getReadPreference().getBackground()));
+        int migrated = 0;
+        int failed = 0;
+
+        try (Stream<Birthday> stream = mongoTemplate.stream(query, Birthday.class)) {
+            Iterator<Birthday> birthdays = stream.iterator();
+            List<Birthday> batch = new ArrayList<>(BATCH_SIZE);
+            while (birthdays.hasNext()) {
+                batch.add(birthdays.next());
+                if (batch.size() == BATCH_SIZE || !birthdays.hasNext()) {
+                    int batchFailures = writeBatch(batch);
+                    failed += batchFailures;
+                    migrated += batch.size() - batchFailures;
+                    batch.clear();
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to backfill derived birthday fields: {}", e.getMessage());
+            return;
+        }
+
+        if (migrated > 0) {
+            logger.info("Backfilled derived fields on {} birthdays", migrated);
+        }
+        if (failed > 0) {
+            logger.warn("Could not backfill {} birthdays, most likely duplicate name and date entries", failed);
+        }
+    }
+
+    private int writeBatch(List<Birthday> batch) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Birthday.class);
+        boolean queued = false;
+        for (Birthday birthday : batch) {
+            Update update = new Update();
+            if (birthday.getDate() != null) {
+                update.set("month", birthday.getDate().getMonthValue())
+                        .set("day", birthday.getDate().getDayOfMonth());
+            }
+            if (birthday.getName() != null) {
+                update.set("normalizedName", Birthday.normalizeName(birthday.getName()));
+            }
+            if (update.getUpdateObject().isEmpty()) {
+                continue;
+            }
+            bulkOps.updateOne(Query.query(Criteria.where("_id").is(birthday.getId())), update);
+            queued = true;
+        }
+        // Executing an empty bulk throws
+        if (!queued) {
+            return 0;
+        }
+
+        try {
+            bulkOps.execute();
+            return 0;
+        } catch (BulkOperationException e) {
+            return e.getErrors().size();
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.birthdayapp.config;
 
+import com.birthdayapp.health.MongoHealthProber;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
 import jakarta.annotation.PostConstruct;
 
 @Configuration
+@Profile("!embedded")
 public class DatabaseConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
@@ -16,23 +21,29 @@ public class DatabaseConfig {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private MongoHealthProber mongoHealthProber;
+
+    // The fast-startup profile turns this off; the readiness group then reports Mongo once the prober has run
+    @Value("${birthday.startup.validate-connection:true}")
+    private boolean validateConnectionOnStartup;
+
     @PostConstruct
     public void validateConnection() {
-        try {
-            mongoTemplate.getCollection("test").estimatedDocumentCount();
+        if (!validateConnectionOnStartup) {
+            logger.info("Deferring MongoDB connection validation to the readiness check");
+            return;
+        }
+        
+        mongoHealthProber.probe();
+        if (mongoHealthProber.isHealthy()) {
             logger.info("Successfully connected to MongoDB database: {}", mongoTemplate.getDb().getName());
-        } catch (Exception e) {
-            logger.error("Failed to connect to MongoDB: {}", e.getMessage());
+        } else {
+            logger.error("Failed to connect to MongoDB: {}", mongoHealthProber.getSnapshot().getLastError());
         }
     }
 
     public boolean isConnected() {
-        try {
-            mongoTemplate.getCollection("test").estimatedDocumentCount();
-            return true;
-        } catch (Exception e) {
-            logger.error("Database connection check failed: {}", e.getMessage());
-            return false;
-        }
+        return mongoHealthProber.isHealthy();
     }
 }
\ No newline at end of file
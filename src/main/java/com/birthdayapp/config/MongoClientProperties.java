@@ -0,0 +1,164 @@
+package com.birthdayapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "birthday.mongo")
+public class MongoClientProperties {
+
+    private final Pool pool = new Pool();
+
+    private final ReadPreferences readPreference = new ReadPreferences();
+
+    // When false, indexes are ensured in the background after startup instead of blocking context refresh
+    private boolean autoIndexCreation = true;
+
+    private int connectTimeoutMs = 10000;
+
+    private int socketTimeoutMs = 10000;
+
+    private int serverSelectionTimeoutMs = 30000;
+
+    // Wire compressors in order of preference: zstd, snappy, zlib (zstd and snappy need their codec on the classpath)
+    private List<String> compressors = new ArrayList<>(List.of("zlib"));
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public ReadPreferences getReadPreference() {
+        return readPreference;
+    }
+
+    public boolean isAutoIndexCreation() {
+        return autoIndexCreation;
+    }
+
+    public void setAutoIndexCreation(boolean autoIndexCreation) {
+        this.autoIndexCreation = autoIndexCreation;
+    }
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(int connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public int getSocketTimeoutMs() {
+        return socketTimeoutMs;
+    }
+
+    public void setSocketTimeoutMs(int socketTimeoutMs) {
+        this.socketTimeoutMs = socketTimeoutMs;
+    }
+
+    public int getServerSelectionTimeoutMs() {
+        return serverSelectionTimeoutMs;
+    }
+
+    public void setServerSelectionTimeoutMs(int serverSelectionTimeoutMs) {
+        this.serverSelectionTimeoutMs = serverSelectionTimeoutMs;
+    }
+
+    public List<String> getCompressors() {
+        return compressors;
+    }
+
+    public void setCompressors(List<String> compressors) {
+        this.compressors = compressors;
+    }
+
+    public static class Pool {
+
+        private int minSize = 0;
+
+        private int maxSize = 100;
+
+        // How long a request may wait for a free connection before failing
+        private long maxWaitMs = 2000;
+
+        private long maxIdleMs = 60000;
+
+        private long maxLifeMs = 0;
+
+        private int maxConnecting = 2;
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(int minSize) {
+            this.minSize = minSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        public long getMaxIdleMs() {
+            return maxIdleMs;
+        }
+
+        public void setMaxIdleMs(long maxIdleMs) {
+            this.maxIdleMs = maxIdleMs;
+        }
+
+        public long getMaxLifeMs() {
+            return maxLifeMs;
+        }
+
+        public void setMaxLifeMs(long maxLifeMs) {
+            this.maxLifeMs = maxLifeMs;
+        }
+
+        public int getMaxConnecting() {
+            return maxConnecting;
+        }
+
+        public void setMaxConnecting(int maxConnecting) {
+            this.maxConnecting = maxConnecting;
+        }
+    }
+
+    // Writes and all other reads go to the primary; these choose where reads that may lag are served from
+    public static class ReadPreferences {
+
+        // Read-only API queries (lists, search, upcoming, calendar)
+        private String queries = "secondaryPreferred";
+
+        // The field migration's backfill scan
+        private String background = "secondaryPreferred";
+
+        public String getQueries() {
+            return queries;
+        }
+
+        public void setQueries(String queries) {
+            this.queries = queries;
+        }
+
+        public String getBackground() {
+            return background;
+        }
+
+        public void setBackground(String background) {
+            this.background = background;
+        }
+    }
+}
\ No newline at end of file
@@ -1,15 +1,105 @@
 package com.birthdayapp.config;
 
+import com.birthdayapp.logging.MongoRequestTimingListener;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 import org.springframework.lang.NonNull;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
+@EnableConfigurationProperties(MongoClientProperties.class)
+@Profile("!embedded")
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SlowCommandDetector slowCommandDetector;
+
+    @Autowired
+    private MongoClientProperties properties;
+
+    @Value("${spring.data.mongodb.uri:mongodb://localhost:27017/birthdayapp}")
+    private String uri;
+
+    @Value("${spring.data.mongodb.database:}")
+    private String database;
+
     @Override
     @NonNull
     protected String getDatabaseName() {
-        return "birthdayapp";
+        if (!database.isBlank()) {
+            return database;
+        }
+        String uriDatabase = new ConnectionString(uri).getDatabase();
+        return uriDatabase != null ? uriDatabase : "birthdayapp";
+    }
+
+    @Override
+    protected boolean autoIndexCreation() {
+        return properties.isAutoIndexCreation();
+    }
+
+    // Boot's Mongo property binding and metrics customizers only apply to the auto-configured client,
+    // so the URI, pool, timeouts, compression and listeners are all wired here. Reads default to the
+    // primary; the query reads that tolerate lag opt into birthday.mongo.read-preference.queries.
+    @Override
+    protected void configureClientSettings(@NonNull MongoClientSettings.Builder builder) {
+        MongoClientProperties.Pool pool = properties.getPool();
+
+        builder.applyConnectionString(new ConnectionString(uri))
+                .compressorList(compressors())
+                .applyToConnectionPoolSettings(settings -> settings
+                        .minSize(pool.getMinSize())
+                        .maxSize(pool.getMaxSize())
+                        .maxWaitTime(pool.getMaxWaitMs(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(pool.getMaxIdleMs(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(pool.getMaxLifeMs(), TimeUnit.MILLISECONDS)
+                        .maxConnecting(pool.getMaxConnecting())
+                        .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry)))
+                .applyToSocketSettings(settings -> settings
+                        .connectTimeout(properties.getConnectTimeoutMs(), TimeUnit.MILLISECONDS)
+                        .readTimeout(properties.getSocketTimeoutMs(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(settings -> settings
+                        .serverSelectionTimeout(properties.getServerSelectionTimeoutMs(), TimeUnit.MILLISECONDS))
+                .addCommandListener(new MongoMetricsCommandListener(meterRegistry))
+                .addCommandListener(new MongoDocumentCountListener(meterRegistry))
+                .addCommandListener(slowCommandDetector)
+                .addCommandListener(new MongoRequestTimingListener());
+    }
+
+    private List<MongoCompressor> compressors() {
+        List<MongoCompressor> compressors = new ArrayList<>();
+        for (String name : properties.getCompressors()) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "zstd":
+                    compressors.add(MongoCompressor.createZstdCompressor());
+                    break;
+                case "snappy":
+                    compressors.add(MongoCompressor.createSnappyCompressor());
+                    break;
+                case "zlib":
+                    compressors.add(MongoCompressor.createZlibCompressor());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported Mongo compressor: " + name);
+            }
+        }
+        return compressors;
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.birthdayapp.config;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Records how many documents each Mongo command returned or touched, complementing
+// the per-command latency timer from MongoMetricsCommandListener
+public class MongoDocumentCountListener implements CommandListener {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public MongoDocumentCountListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        long documents = countDocuments(event.getResponse());
+        if (documents < 0) {
+            return;
+        }
+
+        summaries.computeIfAbsent(event.getCommandName(), command -> DistributionSummary
+                .builder("mongodb.driver.commands.documents")
+                .description("Documents returned or affected per Mongo command")
+                .tag("command", command)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry))
+                .record(documents);
+    }
+
+    private long countDocuments(BsonDocument response) {
+        if (response == null) {
+            return -1;
+        }
+
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonDocument cursorDocument = cursor.asDocument();
+            BsonValue batch = cursorDocument.containsKey("firstBatch")
+                    ? cursorDocument.get("firstBatch")
+                    : cursorDocument.get("nextBatch");
+            return batch instanceof BsonArray ? ((BsonArray) batch).size() : -1;
+        }
+
+        BsonValue affected = response.get("n");
+        if (affected != null && affected.isNumber()) {
+            return affected.asNumber().longValue();
+        }
+
+        return -1;
+    }
+}
\ No newline at end of file
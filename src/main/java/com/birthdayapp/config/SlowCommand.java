@@ -0,0 +1,67 @@
+package com.birthdayapp.config;
+
+import java.time.Instant;
+
+public class SlowCommand {
+
+    private final Instant timestamp;
+    private final String commandName;
+    private final String collection;
+    private final String shape;
+    private final long durationMs;
+    private volatile String planSummary;
+    private volatile Long docsExamined;
+    private volatile Long keysExamined;
+    private volatile Long documentsReturned;
+
+    public SlowCommand(Instant timestamp, String commandName, String collection, String shape, long durationMs) {
+        this.timestamp = timestamp;
+        this.commandName = commandName;
+        this.collection = collection;
+        this.shape = shape;
+        this.durationMs = durationMs;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getCommandName() {
+        return commandName;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public String getPlanSummary() {
+        return planSummary;
+    }
+
+    public Long getDocsExamined() {
+        return docsExamined;
+    }
+
+    public Long getKeysExamined() {
+        return keysExamined;
+    }
+
+    public Long getDocumentsReturned() {
+        return documentsReturned;
+    }
+
+    void applyExplain(String planSummary, Long docsExamined, Long keysExamined, Long documentsReturned) {
+        this.planSummary = planSummary;
+        this.docsExamined = docsExamined;
+        this.keysExamined = keysExamined;
+        this.documentsReturned = documentsReturned;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,217 @@
+package com.birthdayapp.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Flags Mongo commands slower than a threshold, logs their shape and, for a sample of them,
+// runs an explain off the request thread to show whether the plan was a COLLSCAN or IXSCAN
+@Component
+@Profile("!embedded")
+public class SlowCommandDetector implements CommandListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowCommandDetector.class);
+
+    private static final Set<String> EXPLAINABLE_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "findAndModify", "delete", "update");
+
+    // Driver-added and payload fields that say nothing about the query shape
+    private static final Set<String> IGNORED_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "txnNumber", "$readPreference", "readConcern", "writeConcern", "documents");
+
+    @Value("${birthday.mongo.slow-command.enabled:true}")
+    private boolean enabled;
+
+    @Value("${birthday.mongo.slow-command.threshold-ms:100}")
+    private long thresholdMs;
+
+    @Value("${birthday.mongo.slow-command.explain-sample-rate:0.1}")
+    private double explainSampleRate;
+
+    @Value("${birthday.mongo.slow-command.capacity:100}")
+    private int capacity;
+
+    private final ObjectProvider<MongoTemplate> mongoTemplateProvider;
+
+    private final Map<Integer, BsonDocument> inFlight = new ConcurrentHashMap<>();
+
+    private final Deque<SlowCommand> recent = new ArrayDeque<>();
+
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+            runnable -> {
+                Thread thread = new Thread(runnable, "mongo-slow-command-explain");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowCommandDetector(ObjectProvider<MongoTemplate> mongoTemplateProvider) {
+        this.mongoTemplateProvider = mongoTemplateProvider;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (enabled && EXPLAINABLE_COMMANDS.contains(event.getCommandName())) {
+            // The driver may reuse the command buffer after this callback returns
+            inFlight.put(event.getRequestId(), event.getCommand().clone());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.MILLISECONDS));
+    }
+
+    public List<SlowCommand> getRecentSlowCommands() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void complete(int requestId, String commandName, String databaseName, long durationMs) {
+        BsonDocument command = inFlight.remove(requestId);
+        if (command == null || durationMs < thresholdMs) {
+            return;
+        }
+
+        String collection = command.isString(commandName) ? command.getString(commandName).getValue() : null;
+        String shape = shapeOf(command).asDocument().toJson();
+        SlowCommand slowCommand = new SlowCommand(Instant.now(), commandName, collection, shape, durationMs);
+        remember(slowCommand);
+
+        logger.warn("Slow Mongo command: {} on {} took {}ms, shape={}", commandName, collection, durationMs, shape);
+
+        if (ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            explainExecutor.execute(() -> explain(slowCommand, databaseName, command));
+        }
+    }
+
+    private void remember(SlowCommand slowCommand) {
+        synchronized (recent) {
+            recent.addFirst(slowCommand);
+            while (recent.size() > capacity) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    private void explain(SlowCommand slowCommand, String databaseName, BsonDocument command) {
+        try {
+            BsonDocument explained = new BsonDocument();
+            command.forEach((key, value) -> {
+                if (!IGNORED_FIELDS.contains(key)) {
+                    explained.put(key, value);
+                }
+            });
+
+            Document result = mongoTemplateProvider.getObject().getMongoDatabaseFactory()
+                    .getMongoDatabase(databaseName)
+                    .runCommand(new Document("explain", explained).append("verbosity", "executionStats"));
+
+            Document queryPlanner = result.get("queryPlanner", Document.class);
+            Document executionStats = result.get("executionStats", Document.class);
+            String planSummary = queryPlanner != null ? summarizePlan(queryPlanner.get("winningPlan", Document.class)) : null;
+
+            slowCommand.applyExplain(
+                    planSummary,
+                    executionStats != null ? toLong(executionStats.get("totalDocsExamined")) : null,
+                    executionStats != null ? toLong(executionStats.get("totalKeysExamined")) : null,
+                    executionStats != null ? toLong(executionStats.get("nReturned")) : null);
+
+            logger.warn("Explain for slow {} on {}: plan={}, docsExamined={}, keysExamined={}, returned={}",
+                    slowCommand.getCommandName(), slowCommand.getCollection(), slowCommand.getPlanSummary(),
+                    slowCommand.getDocsExamined(), slowCommand.getKeysExamined(), slowCommand.getDocumentsReturned());
+        } catch (Exception e) {
+            logger.debug("Explain of slow {} failed: {}", slowCommand.getCommandName(), e.getMessage());
+        }
+    }
+
+    // Flattens the winning plan into e.g. "FETCH > IXSCAN(month_day_idx)" or "COLLSCAN"
+    private String summarizePlan(Document plan) {
+        if (plan == null) {
+            return null;
+        }
+
+        // Plans for writes and aggregations wrap the query plan one level down
+        Document queryPlan = plan.get("queryPlan", Document.class);
+        if (queryPlan != null) {
+            return summarizePlan(queryPlan);
+        }
+
+        String stage = plan.getString("stage");
+        if ("IXSCAN".equals(stage) && plan.getString("indexName") != null) {
+            stage = stage + "(" + plan.getString("indexName") + ")";
+        }
+
+        Document inputStage = plan.get("inputStage", Document.class);
+        if (inputStage != null) {
+            return stage + " > " + summarizePlan(inputStage);
+        }
+        return stage;
+    }
+
+    private BsonValue shapeOf(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shaped = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> {
+                if (!IGNORED_FIELDS.contains(key)) {
+                    shaped.put(key, shapeOf(nested));
+                }
+            });
+            return shaped;
+        }
+        if (value.isArray()) {
+            BsonArray shaped = new BsonArray();
+            BsonArray array = value.asArray();
+            if (!array.isEmpty()) {
+                shaped.add(shapeOf(array.get(0)));
+            }
+            return shaped;
+        }
+        return new BsonString("?");
+    }
+
+    private Long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.birthdayapp.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "slowcommands")
+@Profile("!embedded")
+public class SlowCommandEndpoint {
+
+    @Autowired
+    private SlowCommandDetector slowCommandDetector;
+
+    @ReadOperation
+    public Map<String, Object> slowCommands() {
+        List<SlowCommand> commands = slowCommandDetector.getRecentSlowCommands();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("count", commands.size());
+        response.put("commands", commands);
+        return response;
+    }
+}
\ No newline at end of file
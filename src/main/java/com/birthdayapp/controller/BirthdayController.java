@@ -1,26 +1,49 @@
 package com.birthdayapp.controller;
 
+import com.birthdayapp.changes.BirthdayChangeFeed;
 import com.birthdayapp.dto.BirthdayResponse;
+import com.birthdayapp.dto.BulkDeleteRequest;
+import com.birthdayapp.dto.CalendarDayResponse;
+import com.birthdayapp.dto.ChangeSetResponse;
 import com.birthdayapp.dto.CreateBirthdayRequest;
+import com.birthdayapp.dto.LookupRequest;
+import com.birthdayapp.dto.OccurrenceResponse;
 import com.birthdayapp.dto.UpdateBirthdayRequest;
+import com.birthdayapp.exception.ValidationException;
+import com.birthdayapp.idempotency.IdempotencyService;
 import com.birthdayapp.model.Birthday;
 import com.birthdayapp.service.BirthdayService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/birthdays")
+@Timed(value = "birthday.controller", histogram = true, percentiles = {0.5, 0.95, 0.99})
 @CrossOrigin(origins = "http://localhost:3000")
 public class BirthdayController {
 
@@ -29,11 +52,27 @@ public class BirthdayController {
     @Autowired
     private BirthdayService birthdayService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BirthdayChangeFeed changeFeed;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllBirthdays(
             @RequestParam(required = false) String eventType,
-            @RequestParam(required = false) Integer daysAhead) {
-        logger.info("GET /api/birthdays - Fetching birthdays with filters: eventType={}, daysAhead={}", eventType, daysAhead);
+            @RequestParam(required = false) Integer daysAhead,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) List<String> ids) {
+        logger.debug("GET /api/birthdays - Fetching birthdays with filters: eventType={}, daysAhead={}, includeArchived={}",
+                eventType, daysAhead, includeArchived);
+        
+        if (ids != null) {
+            return lookupResponse(ids);
+        }
         
         List<BirthdayResponse> birthdays;
         
@@ -41,9 +80,9 @@ public class BirthdayController {
             birthdays = birthdayService.getUpcomingBirthdays(daysAhead);
         } else if (eventType != null) {
             Birthday.EventType type = Birthday.EventType.valueOf(eventType.toUpperCase());
-            birthdays = birthdayService.getBirthdaysByEventType(type);
+            birthdays = birthdayService.getBirthdaysByEventType(type, includeArchived);
         } else {
-            birthdays = birthdayService.getAllBirthdays();
+            birthdays = birthdayService.getAllBirthdays(includeArchived);
         }
         
         Map<String, Object> response = new HashMap<>();
@@ -52,28 +91,61 @@ public class BirthdayController {
         response.put("data", birthdays);
         response.put("count", birthdays.size());
         
-        logger.info("Retrieved {} birthdays", birthdays.size());
+        logger.debug("Retrieved {} birthdays", birthdays.size());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createBirthday(@Valid @RequestBody CreateBirthdayRequest request) {
-        logger.info("POST /api/birthdays - Creating birthday for: {}", request.getName());
+    public ResponseEntity<Map<String, Object>> createBirthday(
+            @Valid @RequestBody CreateBirthdayRequest request,
+            @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey) {
+        logger.debug("POST /api/birthdays - Creating birthday for: {}", request.getName());
+        
+        return idempotencyService.execute(idempotencyKey, "POST /api/birthdays", request, () -> {
+            BirthdayResponse createdBirthday = birthdayService.createBirthday(request);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Birthday created successfully");
+            response.put("data", createdBirthday);
+            
+            logger.debug("Created birthday with ID: {}", createdBirthday.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(toETag(createdBirthday)).body(response);
+        });
+    }
+
+    // Same as GET /api/birthdays?ids=..., for id lists too long for a URL
+    @PostMapping("/lookup")
+    public ResponseEntity<Map<String, Object>> lookupBirthdays(@RequestBody LookupRequest request) {
+        logger.debug("POST /api/birthdays/lookup - Fetching birthdays by ID");
+        return lookupResponse(request.getIds());
+    }
+
+    private ResponseEntity<Map<String, Object>> lookupResponse(List<String> ids) {
+        List<BirthdayResponse> birthdays = birthdayService.getBirthdaysByIds(ids);
         
-        BirthdayResponse createdBirthday = birthdayService.createBirthday(request);
+        Set<String> missingIds = new LinkedHashSet<>();
+        for (String id : ids) {
+            missingIds.add(id.trim());
+        }
+        for (BirthdayResponse birthday : birthdays) {
+            missingIds.remove(birthday.getId());
+        }
         
         Map<String, Object> response = new HashMap<>();
         response.put("status", "success");
-        response.put("message", "Birthday created successfully");
-        response.put("data", createdBirthday);
+        response.put("message", "Birthdays retrieved successfully");
+        response.put("data", birthdays);
+        response.put("count", birthdays.size());
+        response.put("missingIds", missingIds);
         
-        logger.info("Created birthday with ID: {}", createdBirthday.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        logger.debug("Retrieved {} birthdays, {} IDs not found", birthdays.size(), missingIds.size());
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> getBirthdayById(@PathVariable String id) {
-        logger.info("GET /api/birthdays/{} - Fetching birthday by ID", id);
+        logger.debug("GET /api/birthdays/{} - Fetching birthday by ID", id);
         
         BirthdayResponse birthday = birthdayService.getBirthdayById(id);
         
@@ -82,30 +154,49 @@ public class BirthdayController {
         response.put("message", "Birthday retrieved successfully");
         response.put("data", birthday);
         
-        logger.info("Retrieved birthday: {}", birthday.getName());
-        return ResponseEntity.ok(response);
+        logger.debug("Retrieved birthday: {}", birthday.getName());
+        return ResponseEntity.ok().eTag(toETag(birthday)).body(response);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Map<String, Object>> updateBirthday(
             @PathVariable String id, 
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @Valid @RequestBody UpdateBirthdayRequest request) {
-        logger.info("PUT /api/birthdays/{} - Updating birthday", id);
+        logger.debug("PUT /api/birthdays/{} - Updating birthday", id);
         
-        BirthdayResponse updatedBirthday = birthdayService.updateBirthday(id, request);
+        BirthdayResponse updatedBirthday = birthdayService.updateBirthday(id, request, parseIfMatch(ifMatch));
         
         Map<String, Object> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Birthday updated successfully");
         response.put("data", updatedBirthday);
         
-        logger.info("Updated birthday: {}", updatedBirthday.getName());
-        return ResponseEntity.ok(response);
+        logger.debug("Updated birthday: {}", updatedBirthday.getName());
+        return ResponseEntity.ok().eTag(toETag(updatedBirthday)).body(response);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> patchBirthday(
+            @PathVariable String id, 
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestBody UpdateBirthdayRequest request) {
+        logger.debug("PATCH /api/birthdays/{} - Patching birthday", id);
+        
+        BirthdayResponse updatedBirthday = birthdayService.patchBirthday(id, request, parseIfMatch(ifMatch));
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Birthday updated successfully");
+        response.put("data", updatedBirthday);
+        
+        logger.debug("Patched birthday: {}", updatedBirthday.getName());
+        return ResponseEntity.ok().eTag(toETag(updatedBirthday)).body(response);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, Object>> deleteBirthday(@PathVariable String id) {
-        logger.info("DELETE /api/birthdays/{} - Deleting birthday", id);
+        logger.debug("DELETE /api/birthdays/{} - Deleting birthday", id);
         
         birthdayService.deleteBirthday(id);
         
@@ -114,13 +205,32 @@ public class BirthdayController {
         response.put("message", "Birthday deleted successfully");
         response.put("id", id);
         
-        logger.info("Deleted birthday with ID: {}", id);
+        logger.debug("Deleted birthday with ID: {}", id);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<Map<String, Object>> deleteBirthdays(
+            @RequestBody BulkDeleteRequest request,
+            @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey) {
+        logger.debug("POST /api/birthdays/bulk-delete - Bulk deleting birthdays");
+        
+        return idempotencyService.execute(idempotencyKey, "POST /api/birthdays/bulk-delete", request, () -> {
+            long deletedCount = birthdayService.deleteBirthdays(request);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("message", "Birthdays deleted successfully");
+            response.put("deletedCount", deletedCount);
+            
+            logger.debug("Bulk deleted {} birthdays", deletedCount);
+            return ResponseEntity.ok(response);
+        });
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Map<String, Object>> searchBirthdays(@RequestParam String name) {
-        logger.info("GET /api/birthdays/search - Searching birthdays by name: {}", name);
+        logger.debug("GET /api/birthdays/search - Searching birthdays by name: {}", name);
         
         List<BirthdayResponse> birthdays = birthdayService.searchBirthdaysByName(name);
         
@@ -131,15 +241,17 @@ public class BirthdayController {
         response.put("count", birthdays.size());
         response.put("searchTerm", name);
         
-        logger.info("Found {} birthdays matching: {}", birthdays.size(), name);
+        logger.debug("Found {} birthdays matching: {}", birthdays.size(), name);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/event-type/{eventType}")
-    public ResponseEntity<Map<String, Object>> getBirthdaysByEventType(@PathVariable Birthday.EventType eventType) {
-        logger.info("GET /api/birthdays/event-type/{} - Fetching birthdays by event type", eventType);
+    public ResponseEntity<Map<String, Object>> getBirthdaysByEventType(
+            @PathVariable Birthday.EventType eventType,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        logger.debug("GET /api/birthdays/event-type/{} - Fetching birthdays by event type", eventType);
         
-        List<BirthdayResponse> birthdays = birthdayService.getBirthdaysByEventType(eventType);
+        List<BirthdayResponse> birthdays = birthdayService.getBirthdaysByEventType(eventType, includeArchived);
         
         Map<String, Object> response = new HashMap<>();
         response.put("status", "success");
@@ -148,14 +260,14 @@ public class BirthdayController {
         response.put("count", birthdays.size());
         response.put("eventType", eventType);
         
-        logger.info("Found {} birthdays of type: {}", birthdays.size(), eventType);
+        logger.debug("Found {} birthdays of type: {}", birthdays.size(), eventType);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/upcoming")
     public ResponseEntity<Map<String, Object>> getUpcomingBirthdays(
             @RequestParam(defaultValue = "30") int days) {
-        logger.info("GET /api/birthdays/upcoming - Fetching upcoming birthdays for {} days", days);
+        logger.debug("GET /api/birthdays/upcoming - Fetching upcoming birthdays for {} days", days);
         
         List<BirthdayResponse> birthdays = birthdayService.getUpcomingBirthdays(days);
         
@@ -166,7 +278,127 @@ public class BirthdayController {
         response.put("count", birthdays.size());
         response.put("daysAhead", days);
         
-        logger.info("Found {} upcoming birthdays in next {} days", birthdays.size(), days);
+        logger.debug("Found {} upcoming birthdays in next {} days", birthdays.size(), days);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<Map<String, Object>> getCalendar(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month) {
+        LocalDate today = LocalDate.now();
+        int calendarYear = year != null ? year : today.getYear();
+        int calendarMonth = month != null ? month : today.getMonthValue();
+        logger.debug("GET /api/birthdays/calendar - Fetching calendar for {}-{}", calendarYear, calendarMonth);
+        
+        List<CalendarDayResponse> days = birthdayService.getCalendarMonth(calendarYear, calendarMonth);
+        int occurrenceCount = days.stream().mapToInt(CalendarDayResponse::getCount).sum();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Calendar retrieved successfully");
+        response.put("data", days);
+        response.put("count", occurrenceCount);
+        response.put("year", calendarYear);
+        response.put("month", calendarMonth);
+        
+        logger.debug("Found {} occurrences in {}-{}", occurrenceCount, calendarYear, calendarMonth);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/occurrences")
+    public ResponseEntity<StreamingResponseBody> getOccurrences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10000") int limit) {
+        logger.debug("GET /api/birthdays/occurrences - Streaming occurrences from {} to {}", from, to);
+        
+        Stream<OccurrenceResponse> occurrences = birthdayService.getOccurrences(from, to, limit);
+        
+        // Occurrences are written as they are merged so a large range is never materialized
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeStringField("status", "success");
+                generator.writeStringField("message", "Occurrences retrieved successfully");
+                generator.writeStringField("from", from.toString());
+                generator.writeStringField("to", to.toString());
+                generator.writeArrayFieldStart("data");
+                
+                int count = 0;
+                Iterator<OccurrenceResponse> iterator = occurrences.iterator();
+                while (iterator.hasNext()) {
+                    generator.writeObject(iterator.next());
+                    count++;
+                }
+                
+                generator.writeEndArray();
+                generator.writeNumberField("count", count);
+                generator.writeEndObject();
+                logger.debug("Streamed {} occurrences from {} to {}", count, from, to);
+            }
+        };
+        
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        logger.debug("GET /api/birthdays/changes - Fetching changes since {}", since);
+        
+        ChangeSetResponse changes = birthdayService.getChangesSince(since, limit);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Changes retrieved successfully");
+        response.put("data", changes.getChanged());
+        response.put("deleted", changes.getDeleted());
+        response.put("count", changes.getChanged().size() + changes.getDeleted().size());
+        response.put("nextSince", changes.getNextSince());
+        response.put("hasMore", changes.isHasMore());
+        response.put("reset", changes.isReset());
+        
+        logger.debug("Found {} changed and {} deleted birthdays", changes.getChanged().size(), changes.getDeleted().size());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) String zone) {
+        logger.debug("GET /api/birthdays/events - Opening change feed (Last-Event-ID={}, zone={})", lastEventId, zone);
+        
+        ZoneId zoneId;
+        try {
+            zoneId = zone != null ? ZoneId.of(zone) : ZoneId.systemDefault();
+        } catch (DateTimeException e) {
+            throw new ValidationException("Invalid time zone: " + zone);
+        }
+        
+        return changeFeed.subscribe(lastEventId, zoneId);
+    }
+
+    private String toETag(BirthdayResponse birthday) {
+        return birthday.getVersion() != null ? "\"" + birthday.getVersion() + "\"" : null;
+    }
+
+    private Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid If-Match header: " + ifMatch);
+        }
+    }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.birthdayapp.controller;
 
+import com.birthdayapp.health.MongoHealthProber;
+import com.birthdayapp.health.MongoProbeSnapshot;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +19,7 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/database")
+@Profile("!embedded")
 public class DatabaseController {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseController.class);
@@ -22,53 +27,59 @@ public class DatabaseController {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private MongoHealthProber mongoHealthProber;
+
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getStatus() {
         Map<String, Object> response = new HashMap<>();
+        MongoProbeSnapshot snapshot = mongoHealthProber.getSnapshot();
+        
+        response.put("database", mongoTemplate.getDb().getName());
+        response.put("sampledAt", snapshot.getSampledAt());
         
-        try {
-            mongoTemplate.getCollection("test").estimatedDocumentCount();
+        if (mongoHealthProber.isHealthy()) {
             response.put("status", "connected");
-            response.put("database", mongoTemplate.getDb().getName());
             response.put("message", "Database connection is healthy");
             
-            logger.info("Database status check: connected");
+            logger.debug("Database status check: connected");
             return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            response.put("status", "disconnected");
-            response.put("error", e.getMessage());
-            response.put("message", "Database connection failed");
-            
-            logger.error("Database status check failed: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         }
+        
+        response.put("status", "disconnected");
+        response.put("error", snapshot.getLastError());
+        response.put("message", "Database connection failed");
+        
+        logger.debug("Database status check: disconnected ({})", snapshot.getLastError());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 
     @GetMapping("/ping")
     public ResponseEntity<Map<String, Object>> ping() {
         Map<String, Object> response = new HashMap<>();
+        MongoProbeSnapshot snapshot = mongoHealthProber.getSnapshot();
         
-        try {
-            long startTime = System.currentTimeMillis();
-            mongoTemplate.getCollection("test").estimatedDocumentCount();
-            long endTime = System.currentTimeMillis();
-            
+        response.put("database", mongoTemplate.getDb().getName());
+        response.put("sampledAt", snapshot.getSampledAt());
+        
+        if (mongoHealthProber.isHealthy()) {
             response.put("status", "success");
-            response.put("database", mongoTemplate.getDb().getName());
-            response.put("responseTime", (endTime - startTime) + "ms");
+            response.put("responseTime", snapshot.getLastLatencyMs() + "ms");
+            response.put("p50ResponseTime", snapshot.getP50LatencyMs() + "ms");
+            response.put("p95ResponseTime", snapshot.getP95LatencyMs() + "ms");
+            response.put("maxResponseTime", snapshot.getMaxLatencyMs() + "ms");
+            response.put("samples", snapshot.getSamples());
             response.put("message", "MongoDB ping successful");
             
-            logger.info("Database ping successful - Response time: {}ms", (endTime - startTime));
+            logger.debug("Database ping served from probe - Response time: {}ms", snapshot.getLastLatencyMs());
             return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            response.put("status", "failed");
-            response.put("error", e.getMessage());
-            response.put("message", "MongoDB ping failed");
-            
-            logger.error("Database ping failed: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         }
+        
+        response.put("status", "failed");
+        response.put("error", snapshot.getLastError());
+        response.put("message", "MongoDB ping failed");
+        
+        logger.debug("Database ping served from probe - failed: {}", snapshot.getLastError());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.birthdayapp.controller;
+
+import com.birthdayapp.dto.BirthdayResponse;
+import com.birthdayapp.exception.FriendshipNotFoundException;
+import com.birthdayapp.service.FriendFeedService;
+
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/users/{userId}")
+@Timed(value = "birthday.controller", histogram = true, percentiles = {0.5, 0.95, 0.99})
+@CrossOrigin(origins = "http://localhost:3000")
+public class FriendController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FriendController.class);
+
+    @Autowired
+    private FriendFeedService friendFeedService;
+
+    @GetMapping("/friends")
+    public ResponseEntity<Map<String, Object>> getFriends(@PathVariable String userId) {
+        logger.debug("GET /api/users/{}/friends - Fetching friends", userId);
+        
+        List<String> friends = friendFeedService.getFriends(userId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Friends retrieved successfully");
+        response.put("data", friends);
+        response.put("count", friends.size());
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/friends/{friendId}")
+    public ResponseEntity<Map<String, Object>> addFriend(@PathVariable String userId, @PathVariable String friendId) {
+        logger.debug("PUT /api/users/{}/friends/{} - Adding friend", userId, friendId);
+        
+        boolean added = friendFeedService.addFriend(userId, friendId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", added ? "Friend added successfully" : "Already friends");
+        
+        return ResponseEntity.status(added ? HttpStatus.CREATED : HttpStatus.OK).body(response);
+    }
+
+    @DeleteMapping("/friends/{friendId}")
+    public ResponseEntity<Map<String, Object>> removeFriend(@PathVariable String userId, @PathVariable String friendId) {
+        logger.debug("DELETE /api/users/{}/friends/{} - Removing friend", userId, friendId);
+        
+        if (!friendFeedService.removeFriend(userId, friendId)) {
+            throw new FriendshipNotFoundException(userId, friendId);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Friend removed successfully");
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<Map<String, Object>> getFriendsUpcoming(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "30") int days) {
+        logger.debug("GET /api/users/{}/feed - Fetching friends' birthdays for next {} days", userId, days);
+        
+        List<BirthdayResponse> birthdays = friendFeedService.getFriendsUpcoming(userId, days);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Friends' upcoming birthdays retrieved successfully");
+        response.put("data", birthdays);
+        response.put("count", birthdays.size());
+        
+        return ResponseEntity.ok(response);
+    }
+}
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.birthdayapp.dto;
 
 import com.birthdayapp.model.Birthday;
+import com.birthdayapp.recurrence.RecurrenceRules;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 public class BirthdayResponse {
     
@@ -15,14 +17,22 @@ public class BirthdayResponse {
     private Birthday.EventType eventType;
     private Birthday.ShowPreference showPreference;
     private Boolean showAge;
+    private String ownerId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Integer daysUntilNext;
     private Integer age;
+    private Long version;
 
     public BirthdayResponse() {}
 
     public BirthdayResponse(Birthday birthday) {
+        this(birthday, daysUntilNextOn(birthday.getDate(), birthday.getRepeatType(), LocalDate.now()),
+                ageOn(birthday.getDate(), LocalDate.now()));
+    }
+
+    // For callers that already know the countdown and age, e.g. from the materialized upcoming view
+    public BirthdayResponse(Birthday birthday, Integer daysUntilNext, Integer age) {
         this.id = birthday.getId();
         this.name = birthday.getName();
         this.date = birthday.getDate();
@@ -31,54 +41,29 @@ public class BirthdayResponse {
         this.eventType = birthday.getEventType();
         this.showPreference = birthday.getShowPreference();
         this.showAge = birthday.getShowAge();
+        this.ownerId = birthday.getOwnerId();
         this.createdAt = birthday.getCreatedAt();
         this.updatedAt = birthday.getUpdatedAt();
-        this.daysUntilNext = calculateDaysUntilNext(birthday.getDate());
-        this.age = calculateAge(birthday.getDate());
+        this.daysUntilNext = daysUntilNext;
+        this.age = age;
+        this.version = birthday.getVersion();
     }
 
-    private Integer calculateDaysUntilNext(LocalDate birthdayDate) {
+    // Countdown as seen on the given day, e.g. in a client's time zone
+    public static Integer daysUntilNextOn(LocalDate birthdayDate, Birthday.RepeatType repeatType, LocalDate today) {
         if (birthdayDate == null) return null;
         
-        LocalDate today = LocalDate.now();
-        System.out.println("today data"+ today);
-        LocalDate nextBirthday = birthdayDate.withYear(today.getYear());
-        
-        // If today is the birthday, return 0
-        if (nextBirthday.isEqual(today)) {
-            return 0;
-        }
-        
-        // If birthday has passed this year, get next year's birthday
-        if (nextBirthday.isBefore(today)) {
-            nextBirthday = nextBirthday.plusYears(1);
-        }
-        
-        // Handle leap year edge case for Feb 29
-        if (birthdayDate.getMonth().getValue() == 2 && birthdayDate.getDayOfMonth() == 29) {
-            if (nextBirthday.getYear() % 4 != 0 || (nextBirthday.getYear() % 100 == 0 && nextBirthday.getYear() % 400 != 0)) {
-                nextBirthday = LocalDate.of(nextBirthday.getYear(), 2, 28);
-            }
-        }
-        System.out.println(nextBirthday.toString());
-
-        int years = today.until(nextBirthday).getYears();
-        int months = today.until(nextBirthday).getMonths();
-        int days = today.until(nextBirthday).getDays();
-        
-        // Convert years and months to days
-        int totalDays = (years * 365) + (months * 30) + days;
+        LocalDate nextOccurrence = RecurrenceRules.nextOccurrence(birthdayDate, repeatType, today);
         
-        System.out.println("Years: " + years + ", Months: " + months + ", Days: " + days);
-        System.out.println("Total Days: " + totalDays);
+        // One-off events that already happened have no next occurrence
+        if (nextOccurrence == null) return null;
         
-        return totalDays;
+        return (int) ChronoUnit.DAYS.between(today, nextOccurrence);
     }
 
-    private Integer calculateAge(LocalDate birthdayDate) {
+    public static Integer ageOn(LocalDate birthdayDate, LocalDate today) {
         if (birthdayDate == null) return null;
         
-        LocalDate today = LocalDate.now();
         return today.getYear() - birthdayDate.getYear() - 
                (today.getDayOfYear() < birthdayDate.getDayOfYear() ? 1 : 0);
     }
@@ -147,6 +132,14 @@ public class BirthdayResponse {
         this.showAge = showAge;
     }
 
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -178,4 +171,12 @@ public class BirthdayResponse {
     public void setAge(Integer age) {
         this.age = age;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.birthdayapp.dto;
+
+import com.birthdayapp.model.Birthday;
+
+import java.util.List;
+
+public class BulkDeleteRequest {
+    
+    private List<String> ids;
+    
+    private Birthday.EventType eventType;
+    
+    private Boolean pastOneOffOnly;
+
+    public BulkDeleteRequest() {}
+
+    public BulkDeleteRequest(List<String> ids, Birthday.EventType eventType, Boolean pastOneOffOnly) {
+        this.ids = ids;
+        this.eventType = eventType;
+        this.pastOneOffOnly = pastOneOffOnly;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public Birthday.EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(Birthday.EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Boolean getPastOneOffOnly() {
+        return pastOneOffOnly;
+    }
+
+    public void setPastOneOffOnly(Boolean pastOneOffOnly) {
+        this.pastOneOffOnly = pastOneOffOnly;
+    }
+}
\ No newline at end of file
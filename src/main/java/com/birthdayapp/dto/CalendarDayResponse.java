@@ -0,0 +1,44 @@
+package com.birthdayapp.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CalendarDayResponse {
+
+    private LocalDate date;
+    private List<BirthdayResponse> occurrences;
+    private Integer count;
+
+    public CalendarDayResponse() {}
+
+    public CalendarDayResponse(LocalDate date, List<BirthdayResponse> occurrences) {
+        this.date = date;
+        this.occurrences = occurrences != null ? occurrences : new ArrayList<>();
+        this.count = this.occurrences.size();
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public List<BirthdayResponse> getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(List<BirthdayResponse> occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,63 @@
+package com.birthdayapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChangeSetResponse {
+
+    private List<BirthdayResponse> changed;
+    private List<String> deleted;
+    private String nextSince;
+    private boolean hasMore;
+    private boolean reset;
+
+    public ChangeSetResponse() {}
+
+    public ChangeSetResponse(List<BirthdayResponse> changed, List<String> deleted, String nextSince, boolean hasMore, boolean reset) {
+        this.changed = changed != null ? changed : new ArrayList<>();
+        this.deleted = deleted != null ? deleted : new ArrayList<>();
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+        this.reset = reset;
+    }
+
+    public List<BirthdayResponse> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<BirthdayResponse> changed) {
+        this.changed = changed;
+    }
+
+    public List<String> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<String> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(String nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+}
\ No newline at end of file
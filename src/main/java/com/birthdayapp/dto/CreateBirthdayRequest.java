@@ -29,6 +29,8 @@ public class CreateBirthdayRequest {
     
     @NotNull(message = "Show age preference is required")
     private Boolean showAge;
+    
+    private String ownerId;
 
     public CreateBirthdayRequest() {}
 
@@ -99,4 +101,12 @@ public class CreateBirthdayRequest {
     public void setShowAge(Boolean showAge) {
         this.showAge = showAge;
     }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.birthdayapp.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// What changed at midnight in one time zone. Every countdown not listed in countdowns drops by one.
+public class DayRolloverResponse {
+
+    private LocalDate date;
+    private String zone;
+    // Countdowns that reached 0 today
+    private List<String> dueToday;
+    // New countdowns for entries that were due yesterday; null when a one-off event has passed
+    private Map<String, Integer> countdowns;
+    // New ages for entries whose age changed today
+    private Map<String, Integer> ages;
+    // Entries that moved into or out of the upcoming window (0 to windowDays days ahead)
+    private int windowDays;
+    private List<String> enteredWindow;
+    private List<String> leftWindow;
+
+    public DayRolloverResponse() {}
+
+    public DayRolloverResponse(LocalDate date, String zone, int windowDays) {
+        this.date = date;
+        this.zone = zone;
+        this.windowDays = windowDays;
+        this.dueToday = new ArrayList<>();
+        this.countdowns = new LinkedHashMap<>();
+        this.ages = new LinkedHashMap<>();
+        this.enteredWindow = new ArrayList<>();
+        this.leftWindow = new ArrayList<>();
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public List<String> getDueToday() {
+        return dueToday;
+    }
+
+    public void setDueToday(List<String> dueToday) {
+        this.dueToday = dueToday;
+    }
+
+    public Map<String, Integer> getCountdowns() {
+        return countdowns;
+    }
+
+    public void setCountdowns(Map<String, Integer> countdowns) {
+        this.countdowns = countdowns;
+    }
+
+    public Map<String, Integer> getAges() {
+        return ages;
+    }
+
+    public void setAges(Map<String, Integer> ages) {
+        this.ages = ages;
+    }
+
+    public int getWindowDays() {
+        return windowDays;
+    }
+
+    public void setWindowDays(int windowDays) {
+        this.windowDays = windowDays;
+    }
+
+    public List<String> getEnteredWindow() {
+        return enteredWindow;
+    }
+
+    public void setEnteredWindow(List<String> enteredWindow) {
+        this.enteredWindow = enteredWindow;
+    }
+
+    public List<String> getLeftWindow() {
+        return leftWindow;
+    }
+
+    public void setLeftWindow(List<String> leftWindow) {
+        this.leftWindow = leftWindow;
+    }
+}
\ No newline at end of file
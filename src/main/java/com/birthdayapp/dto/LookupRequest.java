@@ -0,0 +1,22 @@
+package com.birthdayapp.dto;
+
+import java.util.List;
+
+public class LookupRequest {
+
+    private List<String> ids;
+
+    public LookupRequest() {}
+
+    public LookupRequest(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.birthdayapp.dto;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.recurrence.Occurrence;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public class OccurrenceResponse {
+
+    private LocalDate date;
+    private String id;
+    private String name;
+    private Birthday.EventType eventType;
+    private Birthday.RepeatType repeatType;
+    private Integer age;
+
+    public OccurrenceResponse() {}
+
+    public OccurrenceResponse(Occurrence occurrence) {
+        Birthday birthday = occurrence.getBirthday();
+        this.date = occurrence.getDate();
+        this.id = birthday.getId();
+        this.name = birthday.getName();
+        this.eventType = birthday.getEventType();
+        this.repeatType = birthday.getRepeatType();
+        if (Boolean.TRUE.equals(birthday.getShowAge())) {
+            this.age = (int) ChronoUnit.YEARS.between(birthday.getDate(), occurrence.getDate());
+        }
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Birthday.EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(Birthday.EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Birthday.RepeatType getRepeatType() {
+        return repeatType;
+    }
+
+    public void setRepeatType(Birthday.RepeatType repeatType) {
+        this.repeatType = repeatType;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+}
\ No newline at end of file
@@ -22,6 +22,8 @@ public class UpdateBirthdayRequest {
     private Birthday.ShowPreference showPreference;
     
     private Boolean showAge;
+    
+    private String ownerId;
 
     public UpdateBirthdayRequest() {}
 
@@ -92,4 +94,12 @@ public class UpdateBirthdayRequest {
     public void setShowAge(Boolean showAge) {
         this.showAge = showAge;
     }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
 }
\ No newline at end of file
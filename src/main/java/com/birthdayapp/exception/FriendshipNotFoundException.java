@@ -0,0 +1,7 @@
+package com.birthdayapp.exception;
+
+public class FriendshipNotFoundException extends RuntimeException {
+    public FriendshipNotFoundException(String userId, String friendId) {
+        super("User " + userId + " is not friends with " + friendId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.birthdayapp.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public IdempotencyKeyInProgressException(String key, int retryAfterSeconds) {
+        super("A request with idempotency key " + key + " is still being processed");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
\ No newline at end of file
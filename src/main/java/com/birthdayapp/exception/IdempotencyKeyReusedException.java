@@ -0,0 +1,7 @@
+package com.birthdayapp.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency key " + key + " was already used for a different request");
+    }
+}
\ No newline at end of file
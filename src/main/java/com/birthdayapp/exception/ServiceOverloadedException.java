@@ -0,0 +1,14 @@
+package com.birthdayapp.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public ServiceOverloadedException(int retryAfterSeconds) {
+        super("Service is busy. Please retry in " + retryAfterSeconds + " second(s).");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
\ No newline at end of file
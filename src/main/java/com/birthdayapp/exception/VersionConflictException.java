@@ -0,0 +1,11 @@
+package com.birthdayapp.exception;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String id, Long expectedVersion) {
+        super("Birthday " + id + " was modified concurrently; expected version " + expectedVersion);
+    }
+    
+    public VersionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
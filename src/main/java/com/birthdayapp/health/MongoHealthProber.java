@@ -0,0 +1,112 @@
+package com.birthdayapp.health;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+// Pings Mongo on a schedule and keeps a rolling latency window, so health checks and
+// load-balancer polling read cached state instead of each issuing a database round trip
+@Component
+@Profile("!embedded")
+public class MongoHealthProber {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoHealthProber.class);
+
+    private static final Document PING = new Document("ping", 1);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${birthday.health.probe.window-size:60}")
+    private int windowSize;
+
+    @Value("${birthday.health.probe.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${birthday.health.probe.stale-after-ms:30000}")
+    private long staleAfterMs;
+
+    private long[] latencies;
+    private int nextSlot;
+    private int filledSlots;
+    private int consecutiveFailures;
+    private Long lastLatencyMs;
+
+    private volatile MongoProbeSnapshot snapshot = MongoProbeSnapshot.notYetSampled();
+
+    @Scheduled(initialDelayString = "${birthday.health.probe.initial-delay-ms:0}",
+            fixedDelayString = "${birthday.health.probe.interval-ms:5000}")
+    public void probe() {
+        long startNanos = System.nanoTime();
+        try {
+            mongoTemplate.getDb().runCommand(PING);
+            record((System.nanoTime() - startNanos) / 1_000_000, null);
+        } catch (Exception e) {
+            record(null, e.getMessage());
+            logger.warn("Mongo health probe failed: {}", e.getMessage());
+        }
+    }
+
+    public MongoProbeSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public boolean isHealthy() {
+        MongoProbeSnapshot current = snapshot;
+        return current.isHealthy() && !isStale(current);
+    }
+
+    public boolean isStale(MongoProbeSnapshot current) {
+        return current.getSampledAt() == null
+                || Duration.between(current.getSampledAt(), Instant.now()).toMillis() > staleAfterMs;
+    }
+
+    // Only the scheduler thread writes; readers see the published snapshot
+    private synchronized void record(Long latencyMs, String error) {
+        if (latencies == null) {
+            latencies = new long[Math.max(1, windowSize)];
+        }
+
+        if (latencyMs != null) {
+            latencies[nextSlot] = latencyMs;
+            nextSlot = (nextSlot + 1) % latencies.length;
+            filledSlots = Math.min(filledSlots + 1, latencies.length);
+            consecutiveFailures = 0;
+            lastLatencyMs = latencyMs;
+        } else {
+            consecutiveFailures++;
+        }
+
+        long[] window = Arrays.copyOf(latencies, filledSlots);
+        Arrays.sort(window);
+
+        snapshot = new MongoProbeSnapshot(
+                latencyMs != null || (lastLatencyMs != null && consecutiveFailures < failureThreshold),
+                Instant.now(),
+                lastLatencyMs,
+                percentile(window, 0.5),
+                percentile(window, 0.95),
+                window.length > 0 ? window[window.length - 1] : null,
+                window.length,
+                consecutiveFailures,
+                error);
+    }
+
+    private Long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return null;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
\ No newline at end of file
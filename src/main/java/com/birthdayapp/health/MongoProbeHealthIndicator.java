@@ -0,0 +1,37 @@
+package com.birthdayapp.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// Registered under Boot's "mongoHealthIndicator" name so it replaces the per-call ping indicator
+@Component("mongoHealthIndicator")
+@Profile("!embedded")
+public class MongoProbeHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private MongoHealthProber prober;
+
+    @Override
+    public Health health() {
+        MongoProbeSnapshot snapshot = prober.getSnapshot();
+        Health.Builder builder = prober.isHealthy() ? Health.up() : Health.down();
+
+        builder.withDetail("sampledAt", String.valueOf(snapshot.getSampledAt()))
+                .withDetail("stale", prober.isStale(snapshot))
+                .withDetail("samples", snapshot.getSamples())
+                .withDetail("consecutiveFailures", snapshot.getConsecutiveFailures());
+        if (snapshot.getLastLatencyMs() != null) {
+            builder.withDetail("lastLatencyMs", snapshot.getLastLatencyMs())
+                    .withDetail("p50LatencyMs", snapshot.getP50LatencyMs())
+                    .withDetail("p95LatencyMs", snapshot.getP95LatencyMs())
+                    .withDetail("maxLatencyMs", snapshot.getMaxLatencyMs());
+        }
+        if (snapshot.getLastError() != null) {
+            builder.withDetail("lastError", snapshot.getLastError());
+        }
+        return builder.build();
+    }
+}
\ No newline at end of file
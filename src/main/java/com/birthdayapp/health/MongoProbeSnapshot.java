@@ -0,0 +1,70 @@
+package com.birthdayapp.health;
+
+import java.time.Instant;
+
+public class MongoProbeSnapshot {
+
+    private final boolean healthy;
+    private final Instant sampledAt;
+    private final Long lastLatencyMs;
+    private final Long p50LatencyMs;
+    private final Long p95LatencyMs;
+    private final Long maxLatencyMs;
+    private final int samples;
+    private final int consecutiveFailures;
+    private final String lastError;
+
+    public MongoProbeSnapshot(boolean healthy, Instant sampledAt, Long lastLatencyMs, Long p50LatencyMs,
+                              Long p95LatencyMs, Long maxLatencyMs, int samples, int consecutiveFailures,
+                              String lastError) {
+        this.healthy = healthy;
+        this.sampledAt = sampledAt;
+        this.lastLatencyMs = lastLatencyMs;
+        this.p50LatencyMs = p50LatencyMs;
+        this.p95LatencyMs = p95LatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+        this.samples = samples;
+        this.consecutiveFailures = consecutiveFailures;
+        this.lastError = lastError;
+    }
+
+    public static MongoProbeSnapshot notYetSampled() {
+        return new MongoProbeSnapshot(false, null, null, null, null, null, 0, 0, "No probe has completed yet");
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public Instant getSampledAt() {
+        return sampledAt;
+    }
+
+    public Long getLastLatencyMs() {
+        return lastLatencyMs;
+    }
+
+    public Long getP50LatencyMs() {
+        return p50LatencyMs;
+    }
+
+    public Long getP95LatencyMs() {
+        return p95LatencyMs;
+    }
+
+    public Long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
\ No newline at end of file
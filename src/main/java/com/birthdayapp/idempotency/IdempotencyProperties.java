@@ -0,0 +1,51 @@
+package com.birthdayapp.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "birthday.idempotency")
+public class IdempotencyProperties {
+
+    // When off, the Idempotency-Key header is ignored and every request executes
+    private boolean enabled = true;
+
+    // How long a completed response is replayed for the same key
+    private long retentionMs = 86_400_000;
+
+    // How long a claim blocks retries before it is treated as abandoned
+    private long pendingTimeoutMs = 60_000;
+
+    // Completed records kept in memory in front of the store
+    private int cacheSize = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getRetentionMs() {
+        return retentionMs;
+    }
+
+    public void setRetentionMs(long retentionMs) {
+        this.retentionMs = retentionMs;
+    }
+
+    public long getPendingTimeoutMs() {
+        return pendingTimeoutMs;
+    }
+
+    public void setPendingTimeoutMs(long pendingTimeoutMs) {
+        this.pendingTimeoutMs = pendingTimeoutMs;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.birthdayapp.idempotency;
+
+import com.birthdayapp.exception.IdempotencyKeyInProgressException;
+import com.birthdayapp.exception.IdempotencyKeyReusedException;
+import com.birthdayapp.exception.ValidationException;
+import com.birthdayapp.model.IdempotencyRecord;
+import com.birthdayapp.repository.IdempotencyStore;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Runs a request at most once per Idempotency-Key. The first request claims the key, executes and
+// stores its response; retries with the same key and body get that response back without executing.
+// Completed records never change, so they are also cached here and most retries skip the store.
+@Component
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final TypeReference<Map<String, Object>> BODY_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Map<String, IdempotencyRecord> cache;
+
+    @PostConstruct
+    public void init() {
+        int cacheSize = properties.getCacheSize();
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public ResponseEntity<Map<String, Object>> execute(String key, String endpoint, Object request,
+                                                       Supplier<ResponseEntity<Map<String, Object>>> action) {
+        if (key == null || !properties.isEnabled()) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = endpoint + " " + key;
+        String requestHash = hash(request);
+        LocalDateTime now = LocalDateTime.now();
+
+        IdempotencyRecord existing = cached(id, now);
+        if (existing == null) {
+            existing = store.find(id, now);
+        }
+        if (existing == null) {
+            IdempotencyRecord pending = new IdempotencyRecord(id, requestHash, now.plus(Duration.ofMillis(properties.getPendingTimeoutMs())));
+            if (store.claim(pending, now)) {
+                return executeClaimed(pending, action);
+            }
+            // Lost the race to a concurrent request with the same key
+            existing = store.find(id, now);
+            if (existing == null) {
+                throw inProgress(key);
+            }
+        }
+        return replay(existing, key, requestHash);
+    }
+
+    private ResponseEntity<Map<String, Object>> executeClaimed(IdempotencyRecord pending,
+                                                               Supplier<ResponseEntity<Map<String, Object>>> action) {
+        ResponseEntity<Map<String, Object>> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            store.release(pending.getId());
+            throw e;
+        }
+        count("executed");
+
+        IdempotencyRecord completed = new IdempotencyRecord(pending.getId(), pending.getRequestHash(),
+                LocalDateTime.now().plus(Duration.ofMillis(properties.getRetentionMs())));
+        completed.setStatus(response.getStatusCode().value());
+        completed.setHeaders(response.getHeaders().toSingleValueMap());
+        try {
+            completed.setBody(objectMapper.writeValueAsString(response.getBody()));
+            store.complete(completed);
+            cache.put(completed.getId(), completed);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The request has already been applied; a retry after the claim expires would execute it again
+            logger.warn("Failed to store the response for {}", pending.getId(), e);
+        }
+        return response;
+    }
+
+    private ResponseEntity<Map<String, Object>> replay(IdempotencyRecord record, String key, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            count("reused");
+            throw new IdempotencyKeyReusedException(key);
+        }
+        if (record.isPending()) {
+            throw inProgress(key);
+        }
+        cache.put(record.getId(), record);
+        count("replayed");
+
+        Map<String, Object> body;
+        try {
+            body = objectMapper.readValue(record.getBody(), BODY_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for " + record.getId() + " is not valid JSON", e);
+        }
+        return ResponseEntity.status(record.getStatus())
+                .headers(headers -> {
+                    if (record.getHeaders() != null) {
+                        record.getHeaders().forEach(headers::set);
+                    }
+                    headers.set(REPLAYED_HEADER, "true");
+                })
+                .body(body);
+    }
+
+    private IdempotencyRecord cached(String id, LocalDateTime now) {
+        IdempotencyRecord record = cache.get(id);
+        if (record != null && record.isExpired(now)) {
+            cache.remove(id);
+            return null;
+        }
+        return record;
+    }
+
+    private IdempotencyKeyInProgressException inProgress(String key) {
+        count("in_progress");
+        return new IdempotencyKeyInProgressException(key, 1);
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash the request", e);
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("birthday.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.birthdayapp.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+
+import java.time.Instant;
+import java.util.Map;
+
+// Renders each event as one JSON object per line; MDC entries become top-level fields
+public class JsonLineLayout extends LayoutBase<ILoggingEvent> {
+
+    @Override
+    public String doLayout(ILoggingEvent event) {
+        StringBuilder json = new StringBuilder(256);
+        json.append('{');
+        appendField(json, "ts", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+        json.append(',');
+        appendField(json, "level", event.getLevel().toString());
+        json.append(',');
+        appendField(json, "logger", event.getLoggerName());
+        json.append(',');
+        appendField(json, "thread", event.getThreadName());
+        json.append(',');
+        appendField(json, "msg", event.getFormattedMessage());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                json.append(',');
+                appendField(json, entry.getKey(), entry.getValue());
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            json.append(',');
+            appendField(json, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+
+        json.append('}').append(CoreConstants.LINE_SEPARATOR);
+        return json.toString();
+    }
+
+    private void appendField(StringBuilder json, String name, String value) {
+        appendString(json, name);
+        json.append(':');
+        if (value == null) {
+            json.append("null");
+        } else {
+            appendString(json, value);
+        }
+    }
+
+    private void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
\ No newline at end of file
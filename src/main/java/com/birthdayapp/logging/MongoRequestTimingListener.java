@@ -0,0 +1,20 @@
+package com.birthdayapp.logging;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+import java.util.concurrent.TimeUnit;
+
+public class MongoRequestTimingListener implements CommandListener {
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        RequestTimings.recordMongoCommand(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        RequestTimings.recordMongoCommand(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.birthdayapp.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "birthday.logging.requests")
+public class RequestLoggingProperties {
+
+    private boolean enabled = true;
+
+    // Fraction of successful requests that get a summary line when no endpoint rate applies
+    private double defaultSampleRate = 1.0;
+
+    // Per-endpoint rates keyed by the handler pattern, e.g. "/api/birthdays/search"
+    private Map<String, Double> sampleRates = new HashMap<>();
+
+    // Requests at least this slow are always logged regardless of sampling
+    private long slowThresholdMs = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getDefaultSampleRate() {
+        return defaultSampleRate;
+    }
+
+    public void setDefaultSampleRate(double defaultSampleRate) {
+        this.defaultSampleRate = defaultSampleRate;
+    }
+
+    public Map<String, Double> getSampleRates() {
+        return sampleRates;
+    }
+
+    public void setSampleRates(Map<String, Double> sampleRates) {
+        this.sampleRates = sampleRates;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.birthdayapp.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Emits one sampled summary line per API request instead of per-step INFO logging
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@EnableConfigurationProperties(RequestLoggingProperties.class)
+public class RequestSummaryFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.birthdayapp.request");
+
+    @Autowired
+    private RequestLoggingProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startNanos = System.nanoTime();
+        RequestTimings timings = RequestTimings.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.clear();
+            long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+            logSummary(request, response.getStatus(), durationMs, timings);
+        }
+    }
+
+    private void logSummary(HttpServletRequest request, int status, long durationMs, RequestTimings timings) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+
+        if (!shouldLog(endpoint, status, durationMs)) {
+            return;
+        }
+
+        try {
+            MDC.put("method", request.getMethod());
+            MDC.put("endpoint", endpoint);
+            MDC.put("status", String.valueOf(status));
+            MDC.put("durationMs", String.valueOf(durationMs));
+            MDC.put("mongoCommands", String.valueOf(timings.getMongoCommands()));
+            MDC.put("mongoMs", String.valueOf(timings.getMongoMillis()));
+            logger.info("{} {} -> {} in {}ms", request.getMethod(), endpoint, status, durationMs);
+        } finally {
+            MDC.remove("method");
+            MDC.remove("endpoint");
+            MDC.remove("status");
+            MDC.remove("durationMs");
+            MDC.remove("mongoCommands");
+            MDC.remove("mongoMs");
+        }
+    }
+
+    private boolean shouldLog(String endpoint, int status, long durationMs) {
+        if (status >= 500 || durationMs >= properties.getSlowThresholdMs()) {
+            return true;
+        }
+        double sampleRate = properties.getSampleRates().getOrDefault(endpoint, properties.getDefaultSampleRate());
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
\ No newline at end of file
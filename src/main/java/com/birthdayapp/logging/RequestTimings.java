@@ -0,0 +1,38 @@
+package com.birthdayapp.logging;
+
+// Per-request timing accumulator; the Mongo sync driver reports commands on the calling thread
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private int mongoCommands;
+    private long mongoNanos;
+
+    private RequestTimings() {}
+
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void recordMongoCommand(long elapsedNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.mongoCommands++;
+            timings.mongoNanos += elapsedNanos;
+        }
+    }
+
+    public int getMongoCommands() {
+        return mongoCommands;
+    }
+
+    public long getMongoMillis() {
+        return mongoNanos / 1_000_000;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.birthdayapp.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotNull;
@@ -10,9 +13,17 @@ import com.birthdayapp.validation.NotFutureDateForBirthday;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Document(collection = "birthdays")
+@CompoundIndex(name = "month_day_idx", def = "{'month': 1, 'day': 1}")
+@CompoundIndex(name = "repeat_date_idx", def = "{'repeatType': 1, 'date': 1}")
+@CompoundIndex(name = Birthday.NAME_DATE_INDEX, def = "{'normalizedName': 1, 'date': 1}", unique = true,
+        partialFilter = "{ 'normalizedName': { $exists: true } }")
+@CompoundIndex(name = "updated_at_id_idx", def = "{'updatedAt': 1, '_id': 1}")
 public class Birthday {
+
+    public static final String NAME_DATE_INDEX = "name_date_unique_idx";
     
     @Id
     private String id;
@@ -21,10 +32,18 @@ public class Birthday {
     @Size(min = 1, max = 100, message = "Name must be between 1 and 100 characters")
     private String name;
     
+    // Trimmed, lower-cased name used by name_date_unique_idx to reject duplicates
+    private String normalizedName;
+    
     @NotNull(message = "Date is required")
     @NotFutureDateForBirthday(message = "Birthday date cannot be in the future")
     private LocalDate date;
     
+    // Denormalized from date so calendar lookups can use month_day_idx instead of $expr
+    private Integer month;
+    
+    private Integer day;
+    
     @NotNull(message = "Reminder type is required")
     private ReminderType reminderType;
     
@@ -40,9 +59,17 @@ public class Birthday {
     @NotNull(message = "Show age preference is required")
     private Boolean showAge;
     
+    // The user the entry belongs to; PUBLIC and FRIENDS_ONLY entries of an owner appear in their friends' feeds
+    @Indexed(name = "owner_idx", sparse = true)
+    private String ownerId;
+    
     private LocalDateTime createdAt;
     
+    // Drives delta sync through updated_at_id_idx
     private LocalDateTime updatedAt;
+    
+    @Version
+    private Long version;
 
     public enum ReminderType {
         NONE, SAME_DAY, ONE_DAY_BEFORE, ONE_WEEK_BEFORE, CUSTOM
@@ -79,6 +106,11 @@ public class Birthday {
 
     public void setName(String name) {
         this.name = name;
+        this.normalizedName = normalizeName(name);
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
     }
 
     public LocalDate getDate() {
@@ -87,6 +119,16 @@ public class Birthday {
 
     public void setDate(LocalDate date) {
         this.date = date;
+        this.month = date != null ? date.getMonthValue() : null;
+        this.day = date != null ? date.getDayOfMonth() : null;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public Integer getDay() {
+        return day;
     }
 
     public ReminderType getReminderType() {
@@ -129,6 +171,14 @@ public class Birthday {
         this.showAge = showAge;
     }
 
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -145,6 +195,18 @@ public class Birthday {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public static String normalizeName(String name) {
+        return name != null ? name.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
     public void updateTimestamp() {
         this.updatedAt = LocalDateTime.now();
     }
@@ -0,0 +1,48 @@
+package com.birthdayapp.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Records a deleted birthday so delta sync clients learn about the removal
+@Document(collection = "birthday_tombstones")
+@CompoundIndex(name = "deleted_at_id_idx", def = "{'deletedAt': 1, '_id': 1}")
+public class BirthdayTombstone {
+
+    // Clients that last synced before this must start over; must match the TTL on deletedAt
+    public static final Duration RETENTION = Duration.ofDays(30);
+
+    // The id of the deleted birthday
+    @Id
+    private String id;
+
+    @Indexed(name = "deleted_at_ttl_idx", expireAfter = "30d")
+    private LocalDateTime deletedAt;
+
+    public BirthdayTombstone() {}
+
+    public BirthdayTombstone(String id, LocalDateTime deletedAt) {
+        this.id = id;
+        this.deletedAt = deletedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
\ No newline at end of file
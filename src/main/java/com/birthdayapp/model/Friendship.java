@@ -0,0 +1,83 @@
+package com.birthdayapp.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// One direction of a friendship; every friendship is stored as a pair so each side lists its friends
+// with one indexed query
+@Document(collection = "friendships")
+@CompoundIndex(name = "user_friend_idx", def = "{'userId': 1, 'friendId': 1}")
+@CompoundIndex(name = "user_fan_out_on_read_idx", def = "{'userId': 1, 'fanOutOnRead': 1}")
+@CompoundIndex(name = "friend_idx", def = "{'friendId': 1}")
+public class Friendship {
+
+    // userId and friendId joined by '|'
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String friendId;
+
+    // Set when friendId has too many friends to fan out to; userId's feed then reads friendId's entries directly
+    private boolean fanOutOnRead;
+
+    private LocalDateTime createdAt;
+
+    public Friendship() {}
+
+    public Friendship(String userId, String friendId, boolean fanOutOnRead, LocalDateTime createdAt) {
+        this.id = idOf(userId, friendId);
+        this.userId = userId;
+        this.friendId = friendId;
+        this.fanOutOnRead = fanOutOnRead;
+        this.createdAt = createdAt;
+    }
+
+    public static String idOf(String userId, String friendId) {
+        return userId + "|" + friendId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getFriendId() {
+        return friendId;
+    }
+
+    public void setFriendId(String friendId) {
+        this.friendId = friendId;
+    }
+
+    public boolean isFanOutOnRead() {
+        return fanOutOnRead;
+    }
+
+    public void setFanOutOnRead(boolean fanOutOnRead) {
+        this.fanOutOnRead = fanOutOnRead;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.birthdayapp.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// The outcome of a request sent with an Idempotency-Key. A record without a status is a claim held
+// by the request still executing; once it completes the response is kept so retries can replay it.
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    // The endpoint and the client's key
+    @Id
+    private String id;
+
+    // Hash of the request body, so a key reused for a different request is refused
+    private String requestHash;
+
+    private Integer status;
+
+    private Map<String, String> headers;
+
+    // The response body as JSON
+    private String body;
+
+    // Claims expire quickly so a crashed request does not hold its key; completed records are kept longer
+    @Indexed(name = "expires_at_ttl_idx", expireAfter = "0s")
+    private LocalDateTime expiresAt;
+
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String id, String requestHash, LocalDateTime expiresAt) {
+        this.id = id;
+        this.requestHash = requestHash;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isPending() {
+        return status == null;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
\ No newline at end of file
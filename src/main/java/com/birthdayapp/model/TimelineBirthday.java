@@ -0,0 +1,142 @@
+package com.birthdayapp.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// The fields of a birthday a feed shows, as embedded in a TimelineEntry. It carries no mapping
+// annotations, so none of Birthday's indexes are created again under birthday_timelines.
+public class TimelineBirthday {
+
+    private String name;
+
+    private LocalDate date;
+
+    private Birthday.ReminderType reminderType;
+
+    private Birthday.RepeatType repeatType;
+
+    private Birthday.EventType eventType;
+
+    private Birthday.ShowPreference showPreference;
+
+    private Boolean showAge;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private Long version;
+
+    public TimelineBirthday() {}
+
+    public TimelineBirthday(Birthday birthday) {
+        this.name = birthday.getName();
+        this.date = birthday.getDate();
+        this.reminderType = birthday.getReminderType();
+        this.repeatType = birthday.getRepeatType();
+        this.eventType = birthday.getEventType();
+        this.showPreference = birthday.getShowPreference();
+        this.showAge = birthday.getShowAge();
+        this.createdAt = birthday.getCreatedAt();
+        this.updatedAt = birthday.getUpdatedAt();
+        this.version = birthday.getVersion();
+    }
+
+    // The id and owner are kept on the entry itself
+    public Birthday toBirthday(String id, String ownerId) {
+        Birthday birthday = new Birthday();
+        birthday.setId(id);
+        birthday.setName(name);
+        birthday.setDate(date);
+        birthday.setReminderType(reminderType);
+        birthday.setRepeatType(repeatType);
+        birthday.setEventType(eventType);
+        birthday.setShowPreference(showPreference);
+        birthday.setShowAge(showAge);
+        birthday.setOwnerId(ownerId);
+        birthday.setCreatedAt(createdAt);
+        birthday.setUpdatedAt(updatedAt);
+        birthday.setVersion(version);
+        return birthday;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Birthday.ReminderType getReminderType() {
+        return reminderType;
+    }
+
+    public void setReminderType(Birthday.ReminderType reminderType) {
+        this.reminderType = reminderType;
+    }
+
+    public Birthday.RepeatType getRepeatType() {
+        return repeatType;
+    }
+
+    public void setRepeatType(Birthday.RepeatType repeatType) {
+        this.repeatType = repeatType;
+    }
+
+    public Birthday.EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(Birthday.EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Birthday.ShowPreference getShowPreference() {
+        return showPreference;
+    }
+
+    public void setShowPreference(Birthday.ShowPreference showPreference) {
+        this.showPreference = showPreference;
+    }
+
+    public Boolean getShowAge() {
+        return showAge;
+    }
+
+    public void setShowAge(Boolean showAge) {
+        this.showAge = showAge;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.birthdayapp.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+// A friend's entry copied into a user's timeline when it is written, so reading the friends feed is
+// one indexed range scan however many friends the user has
+@Document(collection = "birthday_timelines")
+@CompoundIndex(name = "user_next_idx", def = "{'userId': 1, 'nextOccurrence': 1}")
+@CompoundIndex(name = "user_owner_idx", def = "{'userId': 1, 'ownerId': 1}")
+@CompoundIndex(name = "owner_idx", def = "{'ownerId': 1}")
+@CompoundIndex(name = "birthday_idx", def = "{'birthdayId': 1}")
+public class TimelineEntry {
+
+    // userId and the birthday id joined by '|'
+    @Id
+    private String id;
+
+    // Whose timeline the entry is in
+    private String userId;
+
+    private String ownerId;
+
+    private String birthdayId;
+
+    private TimelineBirthday birthday;
+
+    // As of when the entry was written; readers move passed ones on to the following occurrence
+    private LocalDate nextOccurrence;
+
+    public TimelineEntry() {}
+
+    public TimelineEntry(String userId, Birthday birthday, LocalDate nextOccurrence) {
+        this.id = userId + "|" + birthday.getId();
+        this.userId = userId;
+        this.ownerId = birthday.getOwnerId();
+        this.birthdayId = birthday.getId();
+        this.birthday = new TimelineBirthday(birthday);
+        this.nextOccurrence = nextOccurrence;
+    }
+
+    // The same entry moved on to a later occurrence
+    public TimelineEntry(TimelineEntry entry, LocalDate nextOccurrence) {
+        this.id = entry.id;
+        this.userId = entry.userId;
+        this.ownerId = entry.ownerId;
+        this.birthdayId = entry.birthdayId;
+        this.birthday = entry.birthday;
+        this.nextOccurrence = nextOccurrence;
+    }
+
+    public Birthday toBirthday() {
+        return birthday.toBirthday(birthdayId, ownerId);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getBirthdayId() {
+        return birthdayId;
+    }
+
+    public void setBirthdayId(String birthdayId) {
+        this.birthdayId = birthdayId;
+    }
+
+    public TimelineBirthday getBirthday() {
+        return birthday;
+    }
+
+    public void setBirthday(TimelineBirthday birthday) {
+        this.birthday = birthday;
+    }
+
+    public LocalDate getNextOccurrence() {
+        return nextOccurrence;
+    }
+
+    public void setNextOccurrence(LocalDate nextOccurrence) {
+        this.nextOccurrence = nextOccurrence;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.birthdayapp.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+// One row of the materialized upcoming view: an entry with its next occurrence, countdown and age
+// as of builtFor. Entries without a next occurrence (past one-off events) have no row. A removed
+// entry leaves a marker without a next occurrence until the next day's rebuild, so a rebuild from
+// an older snapshot cannot bring the row back.
+@Document(collection = "birthday_upcoming")
+@CompoundIndex(name = "built_for_next_idx", def = "{'builtFor': 1, 'nextOccurrence': 1, '_id': 1}")
+public class UpcomingBirthday {
+
+    // The id of the birthday
+    @Id
+    private String id;
+
+    private LocalDate builtFor;
+
+    private LocalDate nextOccurrence;
+
+    private Integer daysUntilNext;
+
+    private Integer age;
+
+    private Birthday birthday;
+
+    // The entry's version; null on markers of deleted entries, which no rebuild may replace
+    private Long version;
+
+    private Boolean removed;
+
+    public UpcomingBirthday() {}
+
+    public static UpcomingBirthday removed(String id, Long version, LocalDate builtFor) {
+        UpcomingBirthday marker = new UpcomingBirthday();
+        marker.id = id;
+        marker.builtFor = builtFor;
+        marker.version = version;
+        marker.removed = true;
+        return marker;
+    }
+
+    public UpcomingBirthday(Birthday birthday, LocalDate builtFor, LocalDate nextOccurrence, Integer daysUntilNext, Integer age) {
+        this.id = birthday.getId();
+        this.builtFor = builtFor;
+        this.nextOccurrence = nextOccurrence;
+        this.daysUntilNext = daysUntilNext;
+        this.age = age;
+        this.birthday = birthday;
+        this.version = birthday.getVersion();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDate getBuiltFor() {
+        return builtFor;
+    }
+
+    public void setBuiltFor(LocalDate builtFor) {
+        this.builtFor = builtFor;
+    }
+
+    public LocalDate getNextOccurrence() {
+        return nextOccurrence;
+    }
+
+    public void setNextOccurrence(LocalDate nextOccurrence) {
+        this.nextOccurrence = nextOccurrence;
+    }
+
+    public Integer getDaysUntilNext() {
+        return daysUntilNext;
+    }
+
+    public void setDaysUntilNext(Integer daysUntilNext) {
+        this.daysUntilNext = daysUntilNext;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public Birthday getBirthday() {
+        return birthday;
+    }
+
+    public void setBirthday(Birthday birthday) {
+        this.birthday = birthday;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Boolean getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(Boolean removed) {
+        this.removed = removed;
+    }
+
+    public boolean isRemoved() {
+        return Boolean.TRUE.equals(removed);
+    }
+}
\ No newline at end of file
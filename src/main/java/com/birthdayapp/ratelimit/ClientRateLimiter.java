@@ -0,0 +1,93 @@
+package com.birthdayapp.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One token bucket per client and endpoint. Endpoints without their own limit share a bucket per client.
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class ClientRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientRateLimiter.class);
+
+    private static final String DEFAULT_ENDPOINT = "*";
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    // When the last eviction ran, so a full map triggers at most one inline scan per interval
+    private final AtomicLong lastEvictionNanos = new AtomicLong(System.nanoTime());
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("birthday.ratelimit.buckets", buckets, Map::size).register(meterRegistry);
+        rejectedCounter = Counter.builder("birthday.ratelimit.rejected")
+                .description("Requests refused with 429 by the per-client rate limit")
+                .register(meterRegistry);
+    }
+
+    public RateLimitDecision tryConsume(String clientKey, String endpoint) {
+        RateLimitProperties.Limit limit = properties.getEndpoints().get(endpoint);
+        String scope = limit != null ? endpoint : DEFAULT_ENDPOINT;
+        RateLimitProperties.Limit effective = limit != null ? limit : properties.getDefaultLimit();
+
+        String key = clientKey + "|" + scope;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxClients() && claimInlineEviction()) {
+                evictIdleBuckets();
+            }
+            // Still full of active clients: newcomers are hashed into a fixed set of shared buckets rather
+            // than growing the map, so one client flooding the map only drains the slot it lands in
+            if (buckets.size() >= properties.getMaxClients()) {
+                key = "overflow:" + Math.floorMod(clientKey.hashCode(), properties.getOverflowSlots()) + "|" + scope;
+            }
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucket(effective));
+        }
+
+        RateLimitDecision decision = bucket.tryConsume(System.nanoTime());
+        if (!decision.isAllowed()) {
+            rejectedCounter.increment();
+        }
+        return decision;
+    }
+
+    // A request racing with eviction may land on a bucket that was just dropped; at worst that
+    // client gets one token for free
+    @Scheduled(fixedDelayString = "${birthday.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        lastEvictionNanos.set(now);
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        logger.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+
+    // Every request from a client that overflowed misses the map, so without this each of them would scan it
+    private boolean claimInlineEviction() {
+        long last = lastEvictionNanos.get();
+        long now = System.nanoTime();
+        return now - last >= TimeUnit.MILLISECONDS.toNanos(properties.getEvictionIntervalMs())
+                && lastEvictionNanos.compareAndSet(last, now);
+    }
+}
\ No newline at end of file
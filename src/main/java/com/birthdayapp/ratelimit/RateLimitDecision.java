@@ -0,0 +1,40 @@
+package com.birthdayapp.ratelimit;
+
+public class RateLimitDecision {
+
+    private final boolean allowed;
+    private final int limit;
+    private final long remaining;
+    private final long retryAfterNanos;
+
+    private RateLimitDecision(boolean allowed, int limit, long remaining, long retryAfterNanos) {
+        this.allowed = allowed;
+        this.limit = limit;
+        this.remaining = remaining;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    static RateLimitDecision allowed(int limit, long remaining) {
+        return new RateLimitDecision(true, limit, remaining, 0);
+    }
+
+    static RateLimitDecision rejected(int limit, long retryAfterNanos) {
+        return new RateLimitDecision(false, limit, 0, retryAfterNanos);
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getRemaining() {
+        return remaining;
+    }
+
+    public long getRetryAfterNanos() {
+        return retryAfterNanos;
+    }
+}
\ No newline at end of file
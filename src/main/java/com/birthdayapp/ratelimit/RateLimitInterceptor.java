@@ -0,0 +1,57 @@
+package com.birthdayapp.ratelimit;
+
+import com.birthdayapp.exception.RateLimitExceededException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+// Runs after handler mapping so limits can be keyed by endpoint pattern rather than raw path
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    @Autowired
+    private ClientRateLimiter rateLimiter;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // CORS preflights and static resources are not counted
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+        RateLimitDecision decision = rateLimiter.tryConsume(clientKey(request), endpoint);
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.getLimit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.getRemaining()));
+        if (!decision.isAllowed()) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.getRetryAfterNanos() + 999_999_999L));
+            throw new RateLimitExceededException(retryAfterSeconds);
+        }
+        return true;
+    }
+
+    // Only issued keys are trusted; anyone can send a header. Behind a proxy, set
+    // server.forward-headers-strategy so the remote address is the real client
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        if (apiKey != null && properties.getApiKeys().contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
\ No newline at end of file
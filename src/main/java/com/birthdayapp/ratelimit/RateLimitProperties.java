@@ -0,0 +1,130 @@
+package com.birthdayapp.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "birthday.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Clients sending one of apiKeys in this header are limited per key; everyone else per remote address
+    private String apiKeyHeader = "X-API-Key";
+
+    // Keys issued to integrations; any other value in the header is ignored, so made-up keys get no bucket of their own
+    private Set<String> apiKeys = new HashSet<>();
+
+    // Upper bound on tracked buckets; beyond it new clients are hashed into overflowSlots shared buckets per endpoint
+    private int maxClients = 100_000;
+
+    private int overflowSlots = 1024;
+
+    // Full buckets are dropped this often; a full bucket is indistinguishable from a new one
+    private long evictionIntervalMs = 60_000;
+
+    // Applies to every endpoint without its own entry, shared across those endpoints per client
+    private Limit defaultLimit = new Limit(100, 50);
+
+    // Per-endpoint limits keyed by the handler pattern, e.g. "/api/birthdays/search"
+    private Map<String, Limit> endpoints = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public void setApiKeyHeader(String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    public Set<String> getApiKeys() {
+        return apiKeys;
+    }
+
+    public void setApiKeys(Set<String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public int getOverflowSlots() {
+        return overflowSlots;
+    }
+
+    public void setOverflowSlots(int overflowSlots) {
+        this.overflowSlots = overflowSlots;
+    }
+
+    public long getEvictionIntervalMs() {
+        return evictionIntervalMs;
+    }
+
+    public void setEvictionIntervalMs(long evictionIntervalMs) {
+        this.evictionIntervalMs = evictionIntervalMs;
+    }
+
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Map<String, Limit> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Limit> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public static class Limit {
+
+        // Burst size: requests allowed back to back from a full bucket
+        private int capacity;
+
+        // Sustained rate the bucket refills at
+        private double refillPerSecond;
+
+        public Limit() {}
+
+        public Limit(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.birthdayapp.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single timestamp: the moment it will be full again. Taking a token pushes
+// that moment one refill interval later, and the request is refused if it would land more than a
+// full bucket's worth of time in the future. One compare-and-set per request, no lock.
+final class TokenBucket {
+
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private static final long NEVER_USED = Long.MIN_VALUE;
+
+    private final AtomicLong fullAt = new AtomicLong(NEVER_USED);
+
+    TokenBucket(RateLimitProperties.Limit limit) {
+        this.capacity = limit.getCapacity();
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / limit.getRefillPerSecond()));
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    RateLimitDecision tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                return RateLimitDecision.rejected(capacity, debt - burstNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return RateLimitDecision.allowed(capacity, (burstNanos - debt) / intervalNanos);
+            }
+        }
+    }
+
+    // An unused bucket is checked separately, since NEVER_USED - nowNanos overflows
+    boolean isFull(long nowNanos) {
+        long current = fullAt.get();
+        return current == NEVER_USED || current - nowNanos <= 0;
+    }
+}
\ No newline at end of file
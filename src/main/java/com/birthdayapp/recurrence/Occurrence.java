@@ -0,0 +1,24 @@
+package com.birthdayapp.recurrence;
+
+import com.birthdayapp.model.Birthday;
+
+import java.time.LocalDate;
+
+public class Occurrence {
+
+    private final Birthday birthday;
+    private final LocalDate date;
+
+    public Occurrence(Birthday birthday, LocalDate date) {
+        this.birthday = birthday;
+        this.date = date;
+    }
+
+    public Birthday getBirthday() {
+        return birthday;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.birthdayapp.recurrence;
+
+import com.birthdayapp.model.Birthday;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Lazily yields one entry's occurrences within [from, to]; only the next date is ever held
+public class OccurrenceIterator implements Iterator<Occurrence> {
+
+    private final Birthday birthday;
+    private final LocalDate to;
+    private long index;
+    private LocalDate next;
+
+    public OccurrenceIterator(Birthday birthday, LocalDate from, LocalDate to) {
+        this.birthday = birthday;
+        this.to = to;
+        this.index = RecurrenceRules.firstIndexOnOrAfter(birthday.getDate(), birthday.getRepeatType(), from);
+        this.next = advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Occurrence next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        Occurrence occurrence = new Occurrence(birthday, next);
+        index++;
+        next = advance();
+        return occurrence;
+    }
+
+    LocalDate peekDate() {
+        return next;
+    }
+
+    String peekName() {
+        return birthday.getName();
+    }
+
+    private LocalDate advance() {
+        LocalDate date = RecurrenceRules.occurrence(birthday.getDate(), birthday.getRepeatType(), index);
+        return date != null && !date.isAfter(to) ? date : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.birthdayapp.recurrence;
+
+import com.birthdayapp.model.Birthday;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+// K-way merge of per-entry occurrence iterators into one date-ordered stream.
+// The heap holds one pending occurrence per entry, so memory stays O(entries) whatever the range.
+public class OccurrenceMerger implements Iterator<Occurrence> {
+
+    private static final Comparator<OccurrenceIterator> BY_NEXT_DATE = Comparator
+            .comparing(OccurrenceIterator::peekDate)
+            .thenComparing(OccurrenceIterator::peekName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private final PriorityQueue<OccurrenceIterator> heads = new PriorityQueue<>(BY_NEXT_DATE);
+
+    public OccurrenceMerger(Iterable<Birthday> birthdays, LocalDate from, LocalDate to) {
+        for (Birthday birthday : birthdays) {
+            if (birthday.getDate() == null) {
+                continue;
+            }
+            OccurrenceIterator iterator = new OccurrenceIterator(birthday, from, to);
+            if (iterator.hasNext()) {
+                heads.add(iterator);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Occurrence next() {
+        OccurrenceIterator head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        Occurrence occurrence = head.next();
+        if (head.hasNext()) {
+            heads.add(head);
+        }
+        return occurrence;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.birthdayapp.recurrence;
+
+import com.birthdayapp.model.Birthday;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public final class RecurrenceRules {
+
+    private RecurrenceRules() {}
+
+    // Occurrences are always derived from the original date (never by stepping from the previous one),
+    // so Feb 29 yearly lands on Feb 28 in non-leap years and the 31st monthly clamps to month end
+    // without drifting in later periods.
+    public static LocalDate occurrence(LocalDate start, Birthday.RepeatType repeatType, long index) {
+        if (start == null || index < 0) {
+            return null;
+        }
+
+        switch (effectiveType(repeatType)) {
+            case NEVER:
+                return index == 0 ? start : null;
+            case MONTHLY:
+                return start.plusMonths(index);
+            case WEEKLY:
+                return start.plusWeeks(index);
+            case YEARLY:
+            default:
+                return start.plusYears(index);
+        }
+    }
+
+    // Index of the first occurrence falling on or after the given date
+    public static long firstIndexOnOrAfter(LocalDate start, Birthday.RepeatType repeatType, LocalDate date) {
+        if (start == null || !date.isAfter(start)) {
+            return 0;
+        }
+
+        Birthday.RepeatType type = effectiveType(repeatType);
+        if (type == Birthday.RepeatType.NEVER) {
+            return 1;
+        }
+
+        long index = Math.max(0, unitOf(type).between(start, date));
+        while (occurrence(start, type, index).isBefore(date)) {
+            index++;
+        }
+        return index;
+    }
+
+    public static LocalDate nextOccurrence(LocalDate start, Birthday.RepeatType repeatType, LocalDate onOrAfter) {
+        return occurrence(start, repeatType, firstIndexOnOrAfter(start, repeatType, onOrAfter));
+    }
+
+    // Entries without a repeat type have always been treated as yearly
+    private static Birthday.RepeatType effectiveType(Birthday.RepeatType repeatType) {
+        return repeatType != null ? repeatType : Birthday.RepeatType.YEARLY;
+    }
+
+    private static ChronoUnit unitOf(Birthday.RepeatType repeatType) {
+        switch (repeatType) {
+            case MONTHLY:
+                return ChronoUnit.MONTHS;
+            case WEEKLY:
+                return ChronoUnit.WEEKS;
+            default:
+                return ChronoUnit.YEARS;
+        }
+    }
+}
\ No newline at end of file
@@ -6,11 +6,12 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BirthdayRepository extends MongoRepository<Birthday, String> {
+public interface BirthdayRepository extends MongoRepository<Birthday, String>, BirthdayRepositoryCustom {
     
     List<Birthday> findByNameContainingIgnoreCase(String name);
     
@@ -28,13 +29,21 @@ public interface BirthdayRepository extends MongoRepository<Birthday, String> {
     
     List<Birthday> findByRepeatType(Birthday.RepeatType repeatType);
     
+    List<Birthday> findByRepeatTypeIn(Collection<Birthday.RepeatType> repeatTypes);
+    
     List<Birthday> findByShowPreference(Birthday.ShowPreference showPreference);
     
-    @Query("{ $expr: { $eq: [{ $dayOfMonth: '$date' }, { $dayOfMonth: ?0 }] } }")
-    List<Birthday> findByDayOfMonth(LocalDate date);
+    List<Birthday> findByOwnerIdIn(Collection<String> ownerIds);
+    
+    @Query("{ 'ownerId': { $in: ?0 }, $or: [ { 'month': { $in: ?1 } }, { 'repeatType': { $in: ['MONTHLY', 'WEEKLY'] } } ] }")
+    List<Birthday> findByOwnerIdInAndMonthIn(Collection<String> ownerIds, Collection<Integer> months);
+    
+    @Query("{ 'day': ?0 }")
+    List<Birthday> findByDayOfMonth(int day);
+    
+    List<Birthday> findByMonthAndDay(int month, int day);
     
-    @Query("{ $expr: { $and: [{ $eq: [{ $month: '$date' }, { $month: ?0 }] }, { $eq: [{ $dayOfMonth: '$date' }, { $dayOfMonth: ?0 }] }] } }")
-    List<Birthday> findByMonthAndDay(LocalDate date);
+    List<Birthday> findByMonth(int month);
     
     Optional<Birthday> findByNameAndDate(String name, LocalDate date);
     
@@ -0,0 +1,52 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.BirthdayTombstone;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface BirthdayRepositoryCustom {
+
+    // Applies a $set of the given fields in one findAndModify and returns the post-image.
+    // When expectedVersion is non-null the update only matches that version.
+    Optional<Birthday> updateFields(String id, Map<String, Object> fields, Long expectedVersion);
+
+    // Reads from the primary, for decisions that must see the latest write
+    boolean existsOnPrimary(String id);
+
+    // Tombstones are written before deleting, so a failed delete leaves a tombstone for a live
+    // birthday rather than a deletion clients never hear about; findTombstonesAfter skips those.
+
+    // Tombstone upsert, then a single deleteOne; returns the number of documents removed (0 or 1)
+    long removeById(String id);
+
+    // deleteMany over the AND of the non-null filters, in batches of ids found and tombstoned first;
+    // at least one filter must be given
+    long removeMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore);
+
+    // Moves up to batchSize non-repeating events dated before the cutoff into the archive collection
+    int archiveExpiredOneOff(LocalDate before, int batchSize);
+
+    // Served by the queries read preference, so results may lag recent writes
+    List<Birthday> findForQuery(Criteria criteria);
+
+    List<Birthday> findArchived(Birthday.EventType eventType);
+
+    Optional<Birthday> findArchivedById(String id);
+
+    long removeArchivedById(String id);
+
+    // Single deleteMany on the archive collection, with the same filters as removeMatching
+    long removeArchivedMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore);
+
+    List<Birthday> findUpdatedAfter(LocalDateTime updatedAt, String afterId, int limit);
+
+    TombstonePage findTombstonesAfter(LocalDateTime deletedAt, String afterId, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.config.MongoClientProperties;
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.BirthdayTombstone;
+
+import com.mongodb.ReadPreference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class BirthdayRepositoryImpl implements BirthdayRepositoryCustom {
+
+    public static final String ARCHIVE_COLLECTION = "birthdays_archive";
+
+    // Ids tombstoned and removed per round trip, keeping each $in well under the BSON size limit
+    private static final int REMOVE_BATCH_SIZE = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoClientProperties mongoClientProperties;
+
+    @Override
+    public Optional<Birthday> updateFields(String id, Map<String, Object> fields, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+
+        Update update = new Update();
+        fields.forEach(update::set);
+        update.inc("version", 1);
+
+        Birthday updated = mongoTemplate.findAndModify(
+                new Query(criteria),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Birthday.class);
+        return Optional.ofNullable(updated);
+    }
+
+    @Override
+    public boolean existsOnPrimary(String id) {
+        Query query = Query.query(Criteria.where("_id").is(id)).withReadPreference(ReadPreference.primary());
+        return mongoTemplate.exists(query, Birthday.class);
+    }
+
+    @Override
+    public long removeById(String id) {
+        // A tombstone for an id that does not exist is skipped by findTombstonesAfter
+        writeTombstones(List.of(id));
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), Birthday.class).getDeletedCount();
+    }
+
+    @Override
+    public long removeMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore) {
+        Criteria criteria = deleteCriteria(ids, eventType, oneOffBefore);
+
+        // Paged by _id so a large match never has to fit in memory or in one command
+        long removed = 0;
+        String afterId = null;
+        while (true) {
+            Criteria page = afterId != null
+                    ? new Criteria().andOperator(criteria, Criteria.where("_id").gt(afterId))
+                    : criteria;
+            Query matching = new Query(page).with(Sort.by("_id")).limit(REMOVE_BATCH_SIZE)
+                    .withReadPreference(ReadPreference.primary());
+            matching.fields().include("_id");
+            List<String> matchedIds = mongoTemplate.find(matching, Birthday.class).stream().map(Birthday::getId).toList();
+            if (matchedIds.isEmpty()) {
+                return removed;
+            }
+
+            writeTombstones(matchedIds);
+            Criteria tombstoned = new Criteria().andOperator(criteria, Criteria.where("_id").in(matchedIds));
+            removed += mongoTemplate.remove(new Query(tombstoned), Birthday.class).getDeletedCount();
+            if (matchedIds.size() < REMOVE_BATCH_SIZE) {
+                return removed;
+            }
+            afterId = matchedIds.get(matchedIds.size() - 1);
+        }
+    }
+
+    private static Criteria deleteCriteria(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore) {
+        Criteria criteria = new Criteria();
+        boolean filtered = false;
+
+        if (ids != null) {
+            criteria = criteria.and("_id").in(ids);
+            filtered = true;
+        }
+        if (eventType != null) {
+            criteria = criteria.and("eventType").is(eventType);
+            filtered = true;
+        }
+        if (oneOffBefore != null) {
+            criteria = criteria.and("repeatType").is(Birthday.RepeatType.NEVER).and("date").lt(oneOffBefore);
+            filtered = true;
+        }
+        if (!filtered) {
+            throw new IllegalArgumentException("At least one delete filter is required");
+        }
+        return criteria;
+    }
+
+    @Override
+    public int archiveExpiredOneOff(LocalDate before, int batchSize) {
+        Criteria expired = Criteria.where("repeatType").is(Birthday.RepeatType.NEVER).and("date").lt(before);
+        // A stale copy would overwrite the archived version, so candidates come from the primary
+        Query candidates = new Query(expired).limit(batchSize).withReadPreference(ReadPreference.primary());
+        List<Birthday> batch = mongoTemplate.find(candidates, Birthday.class);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Upsert by id so a batch interrupted between copy and delete can be retried safely
+        BulkOperations archiveOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Birthday.class, ARCHIVE_COLLECTION);
+        for (Birthday birthday : batch) {
+            archiveOps.replaceOne(Query.query(Criteria.where("_id").is(birthday.getId())), birthday,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        archiveOps.execute();
+
+        List<String> ids = batch.stream().map(Birthday::getId).toList();
+        writeTombstones(ids);
+        Criteria archived = Criteria.where("_id").in(ids).and("repeatType").is(Birthday.RepeatType.NEVER).and("date").lt(before);
+        return (int) mongoTemplate.remove(new Query(archived), Birthday.class).getDeletedCount();
+    }
+
+    @Override
+    public List<Birthday> findForQuery(Criteria criteria) {
+        return mongoTemplate.find(new Query(criteria).withReadPreference(queryReadPreference()), Birthday.class);
+    }
+
+    @Override
+    public List<Birthday> findArchived(Birthday.EventType eventType) {
+        Query query = new Query().withReadPreference(queryReadPreference());
+        if (eventType != null) {
+            query.addCriteria(Criteria.where("eventType").is(eventType));
+        }
+        return mongoTemplate.find(query, Birthday.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Optional<Birthday> findArchivedById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, Birthday.class, ARCHIVE_COLLECTION));
+    }
+
+    @Override
+    public long removeArchivedById(String id) {
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), Birthday.class, ARCHIVE_COLLECTION)
+                .getDeletedCount();
+    }
+
+    @Override
+    public long removeArchivedMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore) {
+        return mongoTemplate.remove(new Query(deleteCriteria(ids, eventType, oneOffBefore)), Birthday.class, ARCHIVE_COLLECTION)
+                .getDeletedCount();
+    }
+
+    @Override
+    public List<Birthday> findUpdatedAfter(LocalDateTime updatedAt, String afterId, int limit) {
+        Query query = new Query(keysetCriteria("updatedAt", updatedAt, afterId))
+                .with(Sort.by("updatedAt", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Birthday.class);
+    }
+
+    @Override
+    public TombstonePage findTombstonesAfter(LocalDateTime deletedAt, String afterId, int limit) {
+        Query query = new Query(keysetCriteria("deletedAt", deletedAt, afterId))
+                .with(Sort.by("deletedAt", "_id"))
+                .limit(limit);
+        List<BirthdayTombstone> tombstones = mongoTemplate.find(query, BirthdayTombstone.class);
+        if (tombstones.isEmpty()) {
+            return TombstonePage.EMPTY;
+        }
+
+        // Drop tombstones whose delete did not go through
+        Query live = Query.query(Criteria.where("_id").in(tombstones.stream().map(BirthdayTombstone::getId).toList()));
+        live.fields().include("_id");
+        Set<String> liveIds = new HashSet<>();
+        mongoTemplate.find(live, Birthday.class).forEach(birthday -> liveIds.add(birthday.getId()));
+        return new TombstonePage(tombstones.stream().filter(tombstone -> !liveIds.contains(tombstone.getId())).toList(),
+                tombstones.get(tombstones.size() - 1), tombstones.size() == limit);
+    }
+
+    private void writeTombstones(Collection<String> ids) {
+        LocalDateTime deletedAt = LocalDateTime.now();
+        BulkOperations tombstoneOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BirthdayTombstone.class);
+        for (String id : ids) {
+            tombstoneOps.upsert(Query.query(Criteria.where("_id").is(id)), Update.update("deletedAt", deletedAt));
+        }
+        tombstoneOps.execute();
+    }
+
+    // (field, _id) strictly after (value, afterId); ids are ObjectIds, so a missing afterId uses >= on the field alone
+    private static Criteria keysetCriteria(String field, LocalDateTime value, String afterId) {
+        if (value == null) {
+            return new Criteria();
+        }
+        if (afterId == null) {
+            return Criteria.where(field).gte(value);
+        }
+        return new Criteria().orOperator(
+                Criteria.where(field).gt(value),
+                Criteria.where(field).is(value).and("_id").gt(afterId));
+    }
+
+    private ReadPreference queryReadPreference() {
+        return ReadPreference.valueOf(mongoClientProperties.getReadPreference().getQueries());
+    }
+}
\ No newline at end of file
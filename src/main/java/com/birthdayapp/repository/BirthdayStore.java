@@ -0,0 +1,76 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.BirthdayTombstone;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Storage operations used by BirthdayService; backed by MongoDB or, under the embedded profile, local files
+public interface BirthdayStore {
+
+    // The query reads below (findAll, findByEventType, findByNameContainingIgnoreCase, findByMonth,
+    // findByRepeatTypeIn, findArchived) may be served by a secondary and miss the latest writes
+    List<Birthday> findAll();
+
+    // Every birthday as of the latest write, for callers that track changes from this point on
+    List<Birthday> findAllLatest();
+
+    Optional<Birthday> findById(String id);
+
+    // One query for many ids; the result is in no particular order and skips ids that do not exist
+    List<Birthday> findAllById(Collection<String> ids);
+
+    List<Birthday> findByEventType(Birthday.EventType eventType);
+
+    List<Birthday> findByNameContainingIgnoreCase(String name);
+
+    List<Birthday> findByMonth(int month);
+
+    List<Birthday> findByRepeatTypeIn(Collection<Birthday.RepeatType> repeatTypes);
+
+    List<Birthday> findByOwnerIdIn(Collection<String> ownerIds);
+
+    // The owners' entries dated in one of the months, plus their monthly and weekly ones, which recur in every month
+    List<Birthday> findByOwnerIdInAndMonthIn(Collection<String> ownerIds, Collection<Integer> months);
+
+    // Inserts a new birthday; a clash on name_date_unique_idx surfaces as DuplicateKeyException
+    Birthday insert(Birthday birthday);
+
+    // Applies the given fields atomically and returns the post-image.
+    // When expectedVersion is non-null the update only matches that version.
+    Optional<Birthday> updateFields(String id, Map<String, Object> fields, Long expectedVersion);
+
+    // Must reflect the latest write, for decisions such as 404 versus 412
+    boolean existsLatest(String id);
+
+    // Deletes below also record a tombstone per removed birthday for delta sync.
+    // Returns the number of birthdays removed (0 or 1)
+    long removeById(String id);
+
+    // Removes the AND of the non-null filters; at least one filter must be given
+    long removeMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore);
+
+    // Moves up to batchSize non-repeating events dated before the cutoff into the archive
+    int archiveExpiredOneOff(LocalDate before, int batchSize);
+
+    List<Birthday> findArchived(Birthday.EventType eventType);
+
+    Optional<Birthday> findArchivedById(String id);
+
+    // Archiving already recorded the tombstone, so these remove without writing another
+    long removeArchivedById(String id);
+
+    long removeArchivedMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore);
+
+    // Keyset pages for delta sync, ordered by (timestamp, id) and starting strictly after the given position.
+    // A null timestamp starts from the beginning; a null id starts at the first entry with that timestamp.
+    List<Birthday> findUpdatedAfter(LocalDateTime updatedAt, String afterId, int limit);
+
+    // Tombstones of birthdays that no longer exist, in the same keyset order; see TombstonePage for paging
+    TombstonePage findTombstonesAfter(LocalDateTime deletedAt, String afterId, int limit);
+}
\ No newline at end of file
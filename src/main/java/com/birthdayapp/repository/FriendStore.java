@@ -0,0 +1,25 @@
+package com.birthdayapp.repository;
+
+import java.util.List;
+
+// Friendships, kept in both directions: the friendships collection, or a local log under the embedded profile
+public interface FriendStore {
+
+    // Adds both directions; each inherits whether its friend is fanned out on read. False if they were already friends
+    boolean add(String userId, String friendId);
+
+    // False if they were not friends
+    boolean remove(String userId, String friendId);
+
+    List<String> findFriends(String userId);
+
+    long countFriends(String userId);
+
+    boolean isFanOutOnRead(String userId);
+
+    // Friends of userId whose entries are read at request time instead of copied into timelines
+    List<String> findFanOutOnReadFriends(String userId);
+
+    // Marks every friendship pointing at friendId
+    void setFanOutOnRead(String friendId, boolean fanOutOnRead);
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+// Where idempotency records live: the idempotency_keys collection, or memory under the embedded profile
+public interface IdempotencyStore {
+
+    // Null when there is no record or it has expired
+    IdempotencyRecord find(String id, LocalDateTime now);
+
+    // Stores the pending record unless an unexpired record already holds the key
+    boolean claim(IdempotencyRecord pending, LocalDateTime now);
+
+    void complete(IdempotencyRecord record);
+
+    // Drops a claim whose request failed, so the client can retry with the same key
+    void release(String id);
+}
\ No newline at end of file
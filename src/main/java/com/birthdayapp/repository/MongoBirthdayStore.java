@@ -0,0 +1,136 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.BirthdayTombstone;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.MongoRegexCreator;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@Profile("!embedded")
+public class MongoBirthdayStore implements BirthdayStore {
+
+    @Autowired
+    private BirthdayRepository birthdayRepository;
+
+    @Override
+    public List<Birthday> findAll() {
+        return birthdayRepository.findForQuery(new Criteria());
+    }
+
+    @Override
+    public List<Birthday> findAllLatest() {
+        return birthdayRepository.findAll();
+    }
+
+    @Override
+    public Optional<Birthday> findById(String id) {
+        return birthdayRepository.findById(id);
+    }
+
+    @Override
+    public List<Birthday> findAllById(Collection<String> ids) {
+        return birthdayRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<Birthday> findByEventType(Birthday.EventType eventType) {
+        return birthdayRepository.findForQuery(Criteria.where("eventType").is(eventType));
+    }
+
+    @Override
+    public List<Birthday> findByNameContainingIgnoreCase(String name) {
+        String pattern = MongoRegexCreator.INSTANCE.toRegularExpression(name, MongoRegexCreator.MatchMode.CONTAINING);
+        return birthdayRepository.findForQuery(Criteria.where("name").regex(pattern, "i"));
+    }
+
+    @Override
+    public List<Birthday> findByMonth(int month) {
+        return birthdayRepository.findForQuery(Criteria.where("month").is(month));
+    }
+
+    @Override
+    public List<Birthday> findByRepeatTypeIn(Collection<Birthday.RepeatType> repeatTypes) {
+        return birthdayRepository.findForQuery(Criteria.where("repeatType").in(repeatTypes));
+    }
+
+    @Override
+    public List<Birthday> findByOwnerIdIn(Collection<String> ownerIds) {
+        return birthdayRepository.findByOwnerIdIn(ownerIds);
+    }
+
+    @Override
+    public List<Birthday> findByOwnerIdInAndMonthIn(Collection<String> ownerIds, Collection<Integer> months) {
+        return birthdayRepository.findByOwnerIdInAndMonthIn(ownerIds, months);
+    }
+
+    @Override
+    public Birthday insert(Birthday birthday) {
+        return birthdayRepository.insert(birthday);
+    }
+
+    @Override
+    public Optional<Birthday> updateFields(String id, Map<String, Object> fields, Long expectedVersion) {
+        return birthdayRepository.updateFields(id, fields, expectedVersion);
+    }
+
+    @Override
+    public boolean existsLatest(String id) {
+        return birthdayRepository.existsOnPrimary(id);
+    }
+
+    @Override
+    public long removeById(String id) {
+        return birthdayRepository.removeById(id);
+    }
+
+    @Override
+    public long removeMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore) {
+        return birthdayRepository.removeMatching(ids, eventType, oneOffBefore);
+    }
+
+    @Override
+    public int archiveExpiredOneOff(LocalDate before, int batchSize) {
+        return birthdayRepository.archiveExpiredOneOff(before, batchSize);
+    }
+
+    @Override
+    public List<Birthday> findArchived(Birthday.EventType eventType) {
+        return birthdayRepository.findArchived(eventType);
+    }
+
+    @Override
+    public Optional<Birthday> findArchivedById(String id) {
+        return birthdayRepository.findArchivedById(id);
+    }
+
+    @Override
+    public long removeArchivedById(String id) {
+        return birthdayRepository.removeArchivedById(id);
+    }
+
+    @Override
+    public long removeArchivedMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore) {
+        return birthdayRepository.removeArchivedMatching(ids, eventType, oneOffBefore);
+    }
+
+    @Override
+    public List<Birthday> findUpdatedAfter(LocalDateTime updatedAt, String afterId, int limit) {
+        return birthdayRepository.findUpdatedAfter(updatedAt, afterId, limit);
+    }
+
+    @Override
+    public TombstonePage findTombstonesAfter(LocalDateTime deletedAt, String afterId, int limit) {
+        return birthdayRepository.findTombstonesAfter(deletedAt, afterId, limit);
+    }
+}
\ No newline at end of file
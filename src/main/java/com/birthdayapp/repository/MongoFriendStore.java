@@ -0,0 +1,80 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.Friendship;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@Profile("!embedded")
+public class MongoFriendStore implements FriendStore {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Both directions are saved even when one exists, so a pair left half-written is repaired
+    @Override
+    public boolean add(String userId, String friendId) {
+        boolean existed = mongoTemplate.exists(byId(Friendship.idOf(userId, friendId)), Friendship.class)
+                && mongoTemplate.exists(byId(Friendship.idOf(friendId, userId)), Friendship.class);
+        if (existed) {
+            return false;
+        }
+        boolean friendFanOutOnRead = isFanOutOnRead(friendId);
+        boolean userFanOutOnRead = isFanOutOnRead(userId);
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.save(new Friendship(userId, friendId, friendFanOutOnRead, now));
+        mongoTemplate.save(new Friendship(friendId, userId, userFanOutOnRead, now));
+        return true;
+    }
+
+    @Override
+    public boolean remove(String userId, String friendId) {
+        Query query = Query.query(Criteria.where("_id").in(Friendship.idOf(userId, friendId), Friendship.idOf(friendId, userId)));
+        return mongoTemplate.remove(query, Friendship.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public List<String> findFriends(String userId) {
+        return findFriendIds(Criteria.where("userId").is(userId));
+    }
+
+    @Override
+    public long countFriends(String userId) {
+        return mongoTemplate.count(Query.query(Criteria.where("userId").is(userId)), Friendship.class);
+    }
+
+    @Override
+    public boolean isFanOutOnRead(String userId) {
+        return mongoTemplate.exists(Query.query(Criteria.where("friendId").is(userId).and("fanOutOnRead").is(true)), Friendship.class);
+    }
+
+    @Override
+    public List<String> findFanOutOnReadFriends(String userId) {
+        return findFriendIds(Criteria.where("userId").is(userId).and("fanOutOnRead").is(true));
+    }
+
+    @Override
+    public void setFanOutOnRead(String friendId, boolean fanOutOnRead) {
+        mongoTemplate.updateMulti(Query.query(Criteria.where("friendId").is(friendId)),
+                Update.update("fanOutOnRead", fanOutOnRead), Friendship.class);
+    }
+
+    private List<String> findFriendIds(Criteria criteria) {
+        Query query = Query.query(criteria);
+        query.fields().include("friendId");
+        return mongoTemplate.find(query, Friendship.class).stream().map(Friendship::getFriendId).toList();
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.IdempotencyRecord;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@Profile("!embedded")
+public class MongoIdempotencyStore implements IdempotencyStore {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public IdempotencyRecord find(String id, LocalDateTime now) {
+        Query query = Query.query(Criteria.where("_id").is(id).and("expiresAt").gt(now));
+        return mongoTemplate.findOne(query, IdempotencyRecord.class);
+    }
+
+    // The TTL monitor only runs once a minute, so an expired record may still be present; the filter
+    // lets the upsert replace it, and a live record makes the upsert collide on _id instead
+    @Override
+    public boolean claim(IdempotencyRecord pending, LocalDateTime now) {
+        Query query = Query.query(Criteria.where("_id").is(pending.getId()).and("expiresAt").lte(now));
+        try {
+            mongoTemplate.findAndReplace(query, pending, FindAndReplaceOptions.options().upsert());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void complete(IdempotencyRecord record) {
+        mongoTemplate.save(record);
+    }
+
+    @Override
+    public void release(String id) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(id).and("status").is(null)), IdempotencyRecord.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.TimelineEntry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Profile("!embedded")
+public class MongoTimelineStore implements TimelineStore {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean isPersistent() {
+        return true;
+    }
+
+    @Override
+    public void replaceBirthday(String birthdayId, Collection<TimelineEntry> entries) {
+        List<String> userIds = entries.stream().map(TimelineEntry::getUserId).toList();
+        mongoTemplate.remove(Query.query(Criteria.where("birthdayId").is(birthdayId).and("userId").nin(userIds)),
+                TimelineEntry.class);
+        putAll(entries);
+    }
+
+    @Override
+    public void putAll(Collection<TimelineEntry> entries) {
+        List<TimelineEntry> batch = new ArrayList<>(BATCH_SIZE);
+        for (TimelineEntry entry : entries) {
+            batch.add(entry);
+            if (batch.size() == BATCH_SIZE) {
+                replace(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            replace(batch);
+        }
+    }
+
+    private void replace(List<TimelineEntry> batch) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimelineEntry.class);
+        for (TimelineEntry entry : batch) {
+            bulk.replaceOne(Query.query(Criteria.where("_id").is(entry.getId())), entry, FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void removeMatching(Collection<String> birthdayIds, Birthday.EventType eventType) {
+        Criteria criteria = new Criteria();
+        if (birthdayIds != null) {
+            criteria = criteria.and("birthdayId").in(birthdayIds);
+        }
+        if (eventType != null) {
+            criteria = criteria.and("birthday.eventType").is(eventType);
+        }
+        mongoTemplate.remove(new Query(criteria), TimelineEntry.class);
+    }
+
+    @Override
+    public void removeOwner(String userId, String ownerId) {
+        Criteria criteria = Criteria.where("ownerId").is(ownerId);
+        if (userId != null) {
+            criteria = criteria.and("userId").is(userId);
+        }
+        mongoTemplate.remove(new Query(criteria), TimelineEntry.class);
+    }
+
+    @Override
+    public List<TimelineEntry> findByUserUpTo(String userId, LocalDate last, int limit) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and("nextOccurrence").lte(last))
+                .with(Sort.by("nextOccurrence", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, TimelineEntry.class);
+    }
+
+    @Override
+    public void advance(Map<String, LocalDate> nextOccurrences, LocalDate today) {
+        if (nextOccurrences.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimelineEntry.class);
+        nextOccurrences.forEach((id, nextOccurrence) -> {
+            Query query = Query.query(Criteria.where("_id").is(id).and("nextOccurrence").lt(today));
+            if (nextOccurrence != null) {
+                bulk.updateOne(query, Update.update("nextOccurrence", nextOccurrence));
+            } else {
+                bulk.remove(query);
+            }
+        });
+        bulk.execute();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.UpcomingBirthday;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@Profile("!embedded")
+public class MongoUpcomingStore implements UpcomingStore {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void refresh(LocalDate builtFor, Collection<UpcomingBirthday> rows) {
+        List<UpcomingBirthday> batch = new ArrayList<>(BATCH_SIZE);
+        for (UpcomingBirthday row : rows) {
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                replace(builtFor, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            replace(builtFor, batch);
+        }
+    }
+
+    // Current rows that must be kept fail the filter and the upsert then collides on _id;
+    // those duplicate key errors are the expected outcome
+    private void replace(LocalDate builtFor, List<UpcomingBirthday> batch) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UpcomingBirthday.class);
+        for (UpcomingBirthday row : batch) {
+            Criteria replaceable = Criteria.where("builtFor").ne(builtFor);
+            if (row.getVersion() != null) {
+                replaceable = new Criteria().orOperator(replaceable, Criteria.where("version").lt(row.getVersion()));
+            }
+            Criteria criteria = new Criteria().andOperator(Criteria.where("_id").is(row.getId()), replaceable);
+            bulk.replaceOne(new Query(criteria), row, FindAndReplaceOptions.options().upsert());
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void put(UpcomingBirthday row) {
+        mongoTemplate.save(row);
+    }
+
+    @Override
+    public void remove(String id, Long version, LocalDate builtFor) {
+        mongoTemplate.save(UpcomingBirthday.removed(id, version, builtFor));
+    }
+
+    // By id, markers are upserted so a row a rebuild has yet to write cannot appear; by event type,
+    // only existing rows can be matched
+    @Override
+    public void removeMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate builtFor) {
+        if (eventType == null) {
+            List<UpcomingBirthday> markers = new ArrayList<>(BATCH_SIZE);
+            for (String id : ids) {
+                markers.add(UpcomingBirthday.removed(id, null, builtFor));
+                if (markers.size() == BATCH_SIZE) {
+                    upsertAll(markers);
+                    markers.clear();
+                }
+            }
+            if (!markers.isEmpty()) {
+                upsertAll(markers);
+            }
+            return;
+        }
+
+        Criteria criteria = Criteria.where("birthday.eventType").is(eventType);
+        if (ids != null) {
+            criteria = criteria.and("_id").in(ids);
+        }
+        Update marker = new Update().set("builtFor", builtFor).set("removed", true)
+                .unset("nextOccurrence").unset("daysUntilNext").unset("age").unset("birthday").unset("version");
+        mongoTemplate.updateMulti(new Query(criteria), marker, UpcomingBirthday.class);
+    }
+
+    private void upsertAll(List<UpcomingBirthday> rows) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UpcomingBirthday.class);
+        for (UpcomingBirthday row : rows) {
+            bulk.replaceOne(Query.query(Criteria.where("_id").is(row.getId())), row, FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void removeBuiltBefore(LocalDate builtFor) {
+        mongoTemplate.remove(Query.query(Criteria.where("builtFor").lt(builtFor)), UpcomingBirthday.class);
+    }
+
+    @Override
+    public List<UpcomingBirthday> findUpTo(LocalDate builtFor, LocalDate last) {
+        Query query = Query.query(Criteria.where("builtFor").is(builtFor).and("nextOccurrence").lte(last))
+                .with(Sort.by("nextOccurrence", "_id"));
+        return mongoTemplate.find(query, UpcomingBirthday.class);
+    }
+}
\ No newline at end of file
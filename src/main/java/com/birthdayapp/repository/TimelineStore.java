@@ -0,0 +1,34 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.TimelineEntry;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Per-user copies of friends' entries: the birthday_timelines collection, or memory under the embedded profile
+public interface TimelineStore {
+
+    // False when the timelines are lost on restart and have to be rebuilt from the friendships
+    boolean isPersistent();
+
+    // Makes entries the complete set of copies of the birthday, removing copies for other users
+    void replaceBirthday(String birthdayId, Collection<TimelineEntry> entries);
+
+    void putAll(Collection<TimelineEntry> entries);
+
+    // Removes the AND of the non-null filters
+    void removeMatching(Collection<String> birthdayIds, Birthday.EventType eventType);
+
+    // Removes ownerId's entries from userId's timeline, or from every timeline when userId is null
+    void removeOwner(String userId, String ownerId);
+
+    // userId's entries with a next occurrence up to and including last, soonest first; passed ones come first
+    List<TimelineEntry> findByUserUpTo(String userId, LocalDate last, int limit);
+
+    // Sets the next occurrence of the entries with these ids, or removes those mapped to null. Entries
+    // rewritten since they were read no longer have a next occurrence before today and are left alone.
+    void advance(Map<String, LocalDate> nextOccurrences, LocalDate today);
+}
\ No newline at end of file
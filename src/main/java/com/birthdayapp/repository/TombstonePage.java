@@ -0,0 +1,43 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.BirthdayTombstone;
+
+import java.util.List;
+
+// A keyset page of tombstones. Tombstones of live birthdays are dropped after the page is read, so
+// callers page on the last tombstone scanned and on whether the scan was full, not on what is left.
+public class TombstonePage {
+
+    public static final TombstonePage EMPTY = new TombstonePage(List.of(), null, false);
+
+    private final List<BirthdayTombstone> tombstones;
+
+    private final BirthdayTombstone lastScanned;
+
+    private final boolean full;
+
+    public TombstonePage(List<BirthdayTombstone> tombstones, BirthdayTombstone lastScanned, boolean full) {
+        this.tombstones = tombstones;
+        this.lastScanned = lastScanned;
+        this.full = full;
+    }
+
+    // Pages where nothing was dropped
+    public static TombstonePage of(List<BirthdayTombstone> scanned, int limit) {
+        return new TombstonePage(scanned, scanned.isEmpty() ? null : scanned.get(scanned.size() - 1), scanned.size() == limit);
+    }
+
+    public List<BirthdayTombstone> getTombstones() {
+        return tombstones;
+    }
+
+    // Null when the scan found nothing
+    public BirthdayTombstone getLastScanned() {
+        return lastScanned;
+    }
+
+    // True when the scan hit the limit, so more tombstones may follow
+    public boolean isFull() {
+        return full;
+    }
+}
\ No newline at end of file
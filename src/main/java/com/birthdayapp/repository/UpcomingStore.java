@@ -0,0 +1,32 @@
+package com.birthdayapp.repository;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.UpcomingBirthday;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+// Storage for the materialized upcoming view; backed by MongoDB or, under the embedded profile, memory
+public interface UpcomingStore {
+
+    // Writes rows or markers built for the given day. One already built for that day is only replaced
+    // when it holds an older version of the entry, so a rebuild from an older snapshot, on this
+    // instance or another, never undoes a patch.
+    void refresh(LocalDate builtFor, Collection<UpcomingBirthday> rows);
+
+    void put(UpcomingBirthday row);
+
+    // Replace the rows with removal markers built for the given day. version is that of an entry
+    // that was saved without an upcoming occurrence, or null when it was deleted.
+    void remove(String id, Long version, LocalDate builtFor);
+
+    // Same filters as BirthdayStore.removeMatching, minus the one-off cutoff (past one-offs have no rows)
+    void removeMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate builtFor);
+
+    void removeBuiltBefore(LocalDate builtFor);
+
+    // Rows built for the given day with a next occurrence up to and including last, soonest first;
+    // removal markers have no next occurrence and never match
+    List<UpcomingBirthday> findUpTo(LocalDate builtFor, LocalDate last);
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.birthdayapp.service;
+
+import com.birthdayapp.changes.BirthdayChangeEvent;
+import com.birthdayapp.changes.BirthdayChangeFeed;
+import com.birthdayapp.repository.BirthdayStore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+@ConditionalOnProperty(name = "birthday.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class BirthdayArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(BirthdayArchiver.class);
+
+    @Autowired
+    private BirthdayStore birthdayStore;
+
+    @Autowired
+    private BirthdayChangeFeed changeFeed;
+
+    @Autowired
+    private ReadCoalescer readCoalescer;
+
+    @Value("${birthday.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${birthday.archive.batch-pause-ms:250}")
+    private long batchPauseMs;
+
+    @Value("${birthday.archive.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(initialDelayString = "${birthday.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${birthday.archive.interval-ms:3600000}")
+    public void archiveExpiredEvents() {
+        LocalDate cutoff = LocalDate.now();
+        int archived = 0;
+
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int moved = birthdayStore.archiveExpiredOneOff(cutoff, batchSize);
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+                // Throttle between batches so archiving never competes with request traffic
+                Thread.sleep(batchPauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Failed to archive expired one-off events: {}", e.getMessage());
+        }
+
+        if (archived > 0) {
+            logger.info("Archived {} expired one-off events", archived);
+            readCoalescer.invalidate();
+            changeFeed.publishFromService(BirthdayChangeEvent.Type.RESYNC, null, null);
+        }
+    }
+}
\ No newline at end of file
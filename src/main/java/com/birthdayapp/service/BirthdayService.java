@@ -1,83 +1,273 @@
 package com.birthdayapp.service;
 
+import com.birthdayapp.changes.BirthdayChangeEvent;
+import com.birthdayapp.changes.BirthdayChangeFeed;
+import com.birthdayapp.concurrency.ConcurrencyLimited;
 import com.birthdayapp.dto.BirthdayResponse;
+import com.birthdayapp.dto.BulkDeleteRequest;
+import com.birthdayapp.dto.CalendarDayResponse;
+import com.birthdayapp.dto.ChangeSetResponse;
+import com.birthdayapp.dto.OccurrenceResponse;
 import com.birthdayapp.dto.CreateBirthdayRequest;
+import com.birthdayapp.dto.DayRolloverResponse;
 import com.birthdayapp.dto.UpdateBirthdayRequest;
 import com.birthdayapp.exception.BirthdayNotFoundException;
 import com.birthdayapp.exception.ValidationException;
+import com.birthdayapp.exception.VersionConflictException;
 import com.birthdayapp.model.Birthday;
-import com.birthdayapp.repository.BirthdayRepository;
+import com.birthdayapp.model.BirthdayTombstone;
+import com.birthdayapp.recurrence.Occurrence;
+import com.birthdayapp.recurrence.OccurrenceMerger;
+import com.birthdayapp.recurrence.RecurrenceRules;
+import com.birthdayapp.repository.BirthdayStore;
+import com.birthdayapp.repository.TombstonePage;
+import com.birthdayapp.storage.BirthdayWorkingSet;
 
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
+@Timed(value = "birthday.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class BirthdayService {
 
     private static final Logger logger = LoggerFactory.getLogger(BirthdayService.class);
 
+    static final Comparator<BirthdayResponse> BY_DAYS_UNTIL_NEXT =
+            Comparator.comparing(BirthdayResponse::getDaysUntilNext, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final int MAX_OCCURRENCE_RANGE_YEARS = 5;
+
+    private static final int MAX_SYNC_LIMIT = 1000;
+
+    private static final int MAX_LOOKUP_IDS = 1000;
+
+    @Autowired
+    private BirthdayStore birthdayStore;
+
+    @Autowired
+    private BirthdayChangeFeed changeFeed;
+
+    @Autowired
+    private ReadCoalescer readCoalescer;
+
     @Autowired
-    private BirthdayRepository birthdayRepository;
+    private UpcomingReadModel upcomingReadModel;
 
-    public List<BirthdayResponse> getAllBirthdays() {
-        logger.info("Fetching all birthdays");
-        List<Birthday> birthdays = birthdayRepository.findAll();
+    @Autowired
+    private FriendFeedService friendFeedService;
+
+    @Autowired
+    private BirthdayWorkingSet workingSet;
+
+    // updatedAt is stamped before the write commits, so the newest stretch is re-sent on the next sync
+    @Value("${birthday.sync.commit-lag-ms:5000}")
+    private long syncCommitLagMs;
+
+    @CoalescedRead
+    @ConcurrencyLimited
+    public List<BirthdayResponse> getAllBirthdays(boolean includeArchived) {
+        logger.debug("Fetching all birthdays (includeArchived={})", includeArchived);
+        List<Birthday> birthdays = birthdayStore.findAll();
+        if (includeArchived) {
+            birthdays.addAll(birthdayStore.findArchived(null));
+        }
         return birthdays.stream()
                 .map(BirthdayResponse::new)
-                .sorted((a, b) -> Integer.compare(a.getDaysUntilNext(), b.getDaysUntilNext()))
+                .sorted(BY_DAYS_UNTIL_NEXT)
                 .collect(Collectors.toList());
     }
 
-    public List<BirthdayResponse> getBirthdaysByEventType(Birthday.EventType eventType) {
-        logger.info("Fetching birthdays by event type: {}", eventType);
-        List<Birthday> birthdays = birthdayRepository.findByEventType(eventType);
+    @CoalescedRead
+    @ConcurrencyLimited
+    public List<BirthdayResponse> getBirthdaysByEventType(Birthday.EventType eventType, boolean includeArchived) {
+        logger.debug("Fetching birthdays by event type: {} (includeArchived={})", eventType, includeArchived);
+        List<Birthday> birthdays = birthdayStore.findByEventType(eventType);
+        if (includeArchived) {
+            birthdays.addAll(birthdayStore.findArchived(eventType));
+        }
         return birthdays.stream()
                 .map(BirthdayResponse::new)
-                .sorted((a, b) -> Integer.compare(a.getDaysUntilNext(), b.getDaysUntilNext()))
+                .sorted(BY_DAYS_UNTIL_NEXT)
                 .collect(Collectors.toList());
     }
 
+    // Dashboards tend to refresh on the hour, all asking the same question at once
+    @CoalescedRead
+    @ConcurrencyLimited
     public List<BirthdayResponse> getUpcomingBirthdays(int days) {
-        logger.info("Fetching upcoming birthdays for next {} days", days);
-        List<Birthday> birthdays = birthdayRepository.findAll();
+        logger.debug("Fetching upcoming birthdays for next {} days", days);
+        List<BirthdayResponse> materialized = upcomingReadModel.find(days);
+        if (materialized != null) {
+            return materialized;
+        }
+        
+        List<Birthday> birthdays = birthdayStore.findAll();
         return birthdays.stream()
                 .map(BirthdayResponse::new)
                 .filter(birthday -> birthday.getDaysUntilNext() != null && birthday.getDaysUntilNext() <= days)
-                .sorted((a, b) -> Integer.compare(a.getDaysUntilNext(), b.getDaysUntilNext()))
+                .sorted(BY_DAYS_UNTIL_NEXT)
                 .collect(Collectors.toList());
     }
 
-    public int calculateDaysUntilNextBirthday(LocalDate birthdayDate) {
-        if (birthdayDate == null) return 0;
+    @CoalescedRead
+    @ConcurrencyLimited
+    public List<CalendarDayResponse> getCalendarMonth(int year, int month) {
+        logger.debug("Fetching calendar for {}-{}", year, month);
+        validateYearMonth(year, month);
+        
+        YearMonth yearMonth = YearMonth.of(year, month);
+        Map<Integer, List<BirthdayResponse>> occurrencesByDay = new HashMap<>();
+        
+        // Yearly and one-off entries are found through month_day_idx; monthly and weekly ones recur in every month
+        Map<String, Birthday> candidates = new LinkedHashMap<>();
+        birthdayStore.findByMonth(month).forEach(birthday -> candidates.put(birthday.getId(), birthday));
+        birthdayStore.findByRepeatTypeIn(List.of(Birthday.RepeatType.MONTHLY, Birthday.RepeatType.WEEKLY))
+                .forEach(birthday -> candidates.put(birthday.getId(), birthday));
+        
+        OccurrenceMerger occurrences = new OccurrenceMerger(candidates.values(), yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        while (occurrences.hasNext()) {
+            Occurrence occurrence = occurrences.next();
+            occurrencesByDay.computeIfAbsent(occurrence.getDate().getDayOfMonth(), key -> new ArrayList<>())
+                    .add(new BirthdayResponse(occurrence.getBirthday()));
+        }
         
-        LocalDate today = LocalDate.now();
-        LocalDate nextBirthday = birthdayDate.withYear(today.getYear());
+        List<CalendarDayResponse> calendar = new ArrayList<>(yearMonth.lengthOfMonth());
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            calendar.add(new CalendarDayResponse(yearMonth.atDay(day), occurrencesByDay.get(day)));
+        }
+        
+        return calendar;
+    }
+
+    @ConcurrencyLimited
+    public Stream<OccurrenceResponse> getOccurrences(LocalDate from, LocalDate to, int limit) {
+        logger.debug("Fetching occurrences from {} to {}", from, to);
+        validateOccurrenceRange(from, to, limit);
+        
+        // Entries are loaded up front so errors surface before streaming starts; occurrences are expanded lazily
+        OccurrenceMerger occurrences = new OccurrenceMerger(birthdayStore.findAll(), from, to);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(occurrences, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .limit(limit)
+                .map(OccurrenceResponse::new);
+    }
+
+    @ConcurrencyLimited
+    public ChangeSetResponse getChangesSince(String since, int limit) {
+        logger.debug("Fetching changes since {}", since);
+        if (limit < 1 || limit > MAX_SYNC_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_SYNC_LIMIT);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        SyncToken.Position settled = new SyncToken.Position(now.minusNanos(syncCommitLagMs * 1_000_000), null);
+        SyncToken token = since != null && !since.isBlank() ? SyncToken.decode(since) : null;
         
-        // If today is the birthday, return 0
-        if (nextBirthday.isEqual(today)) {
-            return 0;
+        // Without a token, or once tombstones the client hasn't seen may have expired, send everything again
+        boolean reset = token == null || token.getDeleted().getTime() == null
+                || token.getDeleted().getTime().isBefore(now.minus(BirthdayTombstone.RETENTION));
+        if (reset) {
+            token = new SyncToken(SyncToken.Position.START, settled);
         }
         
-        // If birthday has passed this year, get next year's birthday
-        if (nextBirthday.isBefore(today)) {
-            nextBirthday = nextBirthday.plusYears(1);
+        List<Birthday> changed = birthdayStore.findUpdatedAfter(
+                token.getUpdated().getTime(), token.getUpdated().getId(), limit);
+        TombstonePage deleted = reset ? TombstonePage.EMPTY : birthdayStore.findTombstonesAfter(
+                token.getDeleted().getTime(), token.getDeleted().getId(), limit);
+        
+        SyncToken.Position updatedPosition = token.getUpdated();
+        if (!changed.isEmpty()) {
+            Birthday last = changed.get(changed.size() - 1);
+            updatedPosition = advance(updatedPosition, new SyncToken.Position(last.getUpdatedAt(), last.getId()),
+                    changed.size() == limit, settled);
+        }
+        SyncToken.Position deletedPosition = token.getDeleted();
+        // Paged on what was scanned: tombstones of live birthdays are left out of the response but still passed
+        if (deleted.getLastScanned() != null) {
+            BirthdayTombstone last = deleted.getLastScanned();
+            deletedPosition = advance(deletedPosition, new SyncToken.Position(last.getDeletedAt(), last.getId()),
+                    deleted.isFull(), settled);
         }
         
-        // Handle leap year edge case for Feb 29
-        if (birthdayDate.getMonth().getValue() == 2 && birthdayDate.getDayOfMonth() == 29) {
-            if (nextBirthday.getYear() % 4 != 0 || (nextBirthday.getYear() % 100 == 0 && nextBirthday.getYear() % 400 != 0)) {
-                nextBirthday = LocalDate.of(nextBirthday.getYear(), 2, 28);
+        return new ChangeSetResponse(
+                changed.stream().map(BirthdayResponse::new).collect(Collectors.toList()),
+                deleted.getTombstones().stream().map(BirthdayTombstone::getId).collect(Collectors.toList()),
+                new SyncToken(updatedPosition, deletedPosition).encode(),
+                changed.size() == limit || deleted.isFull(),
+                reset);
+    }
+
+    // Compares each entry as seen yesterday and today in the given zone, so clients can tick their
+    // counters locally instead of refetching
+    @ConcurrencyLimited
+    public DayRolloverResponse getDayRollover(ZoneId zone, LocalDate today, int windowDays) {
+        logger.debug("Computing day rollover for {} in {}", today, zone);
+        LocalDate yesterday = today.minusDays(1);
+        DayRolloverResponse rollover = new DayRolloverResponse(today, zone.getId(), windowDays);
+        
+        for (Birthday birthday : workingSet.findAll()) {
+            Integer daysNow = BirthdayResponse.daysUntilNextOn(birthday.getDate(), birthday.getRepeatType(), today);
+            Integer daysBefore = BirthdayResponse.daysUntilNextOn(birthday.getDate(), birthday.getRepeatType(), yesterday);
+            boolean inWindow = daysNow != null && daysNow <= windowDays;
+            boolean wasInWindow = daysBefore != null && daysBefore <= windowDays;
+            
+            if (daysNow != null && daysNow == 0) {
+                rollover.getDueToday().add(birthday.getId());
+            }
+            if (daysBefore != null && daysBefore == 0) {
+                rollover.getCountdowns().put(birthday.getId(), daysNow);
+            }
+            if (inWindow && !wasInWindow) {
+                rollover.getEnteredWindow().add(birthday.getId());
+            } else if (!inWindow && wasInWindow) {
+                rollover.getLeftWindow().add(birthday.getId());
+            }
+            
+            Integer age = BirthdayResponse.ageOn(birthday.getDate(), today);
+            if (age != null && !age.equals(BirthdayResponse.ageOn(birthday.getDate(), yesterday))) {
+                rollover.getAges().put(birthday.getId(), age);
             }
         }
         
-        return (int) today.until(nextBirthday).getDays();
+        return rollover;
+    }
+
+    public int calculateDaysUntilNextBirthday(LocalDate birthdayDate) {
+        return calculateDaysUntilNext(birthdayDate, Birthday.RepeatType.YEARLY);
+    }
+
+    public int calculateDaysUntilNext(LocalDate date, Birthday.RepeatType repeatType) {
+        if (date == null) return 0;
+        
+        LocalDate today = LocalDate.now();
+        LocalDate nextOccurrence = RecurrenceRules.nextOccurrence(date, repeatType, today);
+        
+        // One-off events that already happened have no next occurrence
+        if (nextOccurrence == null) return -1;
+        
+        return (int) ChronoUnit.DAYS.between(today, nextOccurrence);
     }
 
     public int calculateAge(LocalDate birthdayDate) {
@@ -94,18 +284,44 @@ public class BirthdayService {
         return Math.max(0, age);
     }
 
+    @ConcurrencyLimited
     public BirthdayResponse getBirthdayById(String id) {
-        logger.info("Fetching birthday with ID: {}", id);
+        logger.debug("Fetching birthday with ID: {}", id);
         validateId(id);
         
-        Birthday birthday = birthdayRepository.findById(id)
+        // Archived entries show up in lists with includeArchived, so they can be fetched by id too
+        Birthday birthday = birthdayStore.findById(id)
+                .or(() -> birthdayStore.findArchivedById(id))
                 .orElseThrow(() -> new BirthdayNotFoundException(id));
         
         return new BirthdayResponse(birthday);
     }
 
+    // Fetches many entries in one query. The result follows the order of the requested ids,
+    // with duplicates collapsed; ids that do not exist are left out.
+    @ConcurrencyLimited
+    public List<BirthdayResponse> getBirthdaysByIds(List<String> ids) {
+        logger.debug("Fetching {} birthdays by ID", ids != null ? ids.size() : 0);
+        Set<String> distinctIds = validateLookupIds(ids);
+        
+        Map<String, Birthday> found = new HashMap<>();
+        for (Birthday birthday : birthdayStore.findAllById(distinctIds)) {
+            found.put(birthday.getId(), birthday);
+        }
+        
+        List<BirthdayResponse> birthdays = new ArrayList<>(found.size());
+        for (String id : distinctIds) {
+            Birthday birthday = found.get(id);
+            if (birthday != null) {
+                birthdays.add(new BirthdayResponse(birthday));
+            }
+        }
+        return birthdays;
+    }
+
+    @ConcurrencyLimited
     public BirthdayResponse createBirthday(CreateBirthdayRequest request) {
-        logger.info("Creating new birthday for: {}", request.getName());
+        logger.debug("Creating new birthday for: {}", request.getName());
         validateCreateRequest(request);
         
         Birthday birthday = new Birthday();
@@ -116,61 +332,198 @@ public class BirthdayService {
         birthday.setEventType(request.getEventType());
         birthday.setShowPreference(request.getShowPreference());
         birthday.setShowAge(request.getShowAge());
+        birthday.setOwnerId(request.getOwnerId());
         
-        Birthday savedBirthday = birthdayRepository.save(birthday);
+        Birthday savedBirthday = birthdayStore.insert(birthday);
         logger.info("Created birthday with ID: {}", savedBirthday.getId());
+        readCoalescer.invalidate();
+        upcomingReadModel.onSaved(savedBirthday);
+        friendFeedService.onSaved(savedBirthday);
+        changeFeed.publishFromService(BirthdayChangeEvent.Type.CREATED, savedBirthday.getId(), savedBirthday);
         
         return new BirthdayResponse(savedBirthday);
     }
 
+    @ConcurrencyLimited
     public BirthdayResponse updateBirthday(String id, UpdateBirthdayRequest request) {
-        logger.info("Updating birthday with ID: {}", id);
+        return updateBirthday(id, request, null);
+    }
+
+    @ConcurrencyLimited
+    public BirthdayResponse updateBirthday(String id, UpdateBirthdayRequest request, Long expectedVersion) {
+        logger.debug("Updating birthday with ID: {}", id);
         validateId(id);
         validateUpdateRequest(request);
         
-        Birthday existingBirthday = birthdayRepository.findById(id)
-                .orElseThrow(() -> new BirthdayNotFoundException(id));
-        
-        updateBirthdayFields(existingBirthday, request);
-        existingBirthday.updateTimestamp();
-        
-        Birthday updatedBirthday = birthdayRepository.save(existingBirthday);
-        logger.info("Updated birthday with ID: {}", updatedBirthday.getId());
+        return applyUpdate(id, request, expectedVersion);
+    }
+
+    @ConcurrencyLimited
+    public BirthdayResponse patchBirthday(String id, UpdateBirthdayRequest request, Long expectedVersion) {
+        logger.debug("Patching birthday with ID: {}", id);
+        validateId(id);
+        validatePatchRequest(request);
         
-        return new BirthdayResponse(updatedBirthday);
+        return applyUpdate(id, request, expectedVersion);
     }
 
+    @ConcurrencyLimited
     public void deleteBirthday(String id) {
-        logger.info("Deleting birthday with ID: {}", id);
+        logger.debug("Deleting birthday with ID: {}", id);
         validateId(id);
         
-        if (!birthdayRepository.existsById(id)) {
-            throw new BirthdayNotFoundException(id);
+        if (birthdayStore.removeById(id) == 0) {
+            // Archived entries are past one-offs: no upcoming rows or timeline copies to clean up
+            if (birthdayStore.removeArchivedById(id) == 0) {
+                throw new BirthdayNotFoundException(id);
+            }
+            logger.info("Deleted archived birthday with ID: {}", id);
+            readCoalescer.invalidate();
+            changeFeed.publishFromService(BirthdayChangeEvent.Type.DELETED, id, null);
+            return;
         }
         
-        birthdayRepository.deleteById(id);
         logger.info("Deleted birthday with ID: {}", id);
+        readCoalescer.invalidate();
+        upcomingReadModel.onDeleted(id);
+        friendFeedService.onDeleted(id);
+        changeFeed.publishFromService(BirthdayChangeEvent.Type.DELETED, id, null);
     }
 
+    @ConcurrencyLimited
+    public long deleteBirthdays(BulkDeleteRequest request) {
+        logger.debug("Bulk deleting birthdays");
+        validateBulkDeleteRequest(request);
+        
+        LocalDate oneOffBefore = Boolean.TRUE.equals(request.getPastOneOffOnly()) ? LocalDate.now() : null;
+        long deletedCount = birthdayStore.removeMatching(request.getIds(), request.getEventType(), oneOffBefore)
+                + birthdayStore.removeArchivedMatching(request.getIds(), request.getEventType(), oneOffBefore);
+        logger.info("Bulk deleted {} birthdays", deletedCount);
+        if (deletedCount > 0) {
+            readCoalescer.invalidate();
+            // Past one-off events have no upcoming rows, and the friends feed skips them
+            if (oneOffBefore == null) {
+                upcomingReadModel.onDeleted(request.getIds(), request.getEventType());
+                friendFeedService.onDeleted(request.getIds(), request.getEventType());
+            }
+            // The store reports a count, not the ids removed
+            changeFeed.publishFromService(BirthdayChangeEvent.Type.RESYNC, null, null);
+        }
+        
+        return deletedCount;
+    }
+
+    @ConcurrencyLimited
     public List<BirthdayResponse> searchBirthdaysByName(String name) {
-        logger.info("Searching birthdays by name: {}", name);
+        logger.debug("Searching birthdays by name: {}", name);
         if (name == null || name.trim().isEmpty()) {
             throw new ValidationException("Search term cannot be empty");
         }
         
-        List<Birthday> birthdays = birthdayRepository.findByNameContainingIgnoreCase(name.trim());
+        List<Birthday> birthdays = birthdayStore.findByNameContainingIgnoreCase(name.trim());
         return birthdays.stream()
                 .map(BirthdayResponse::new)
                 .collect(Collectors.toList());
     }
 
 
+    private void validateOccurrenceRange(LocalDate from, LocalDate to, int limit) {
+        if (from == null || to == null) {
+            throw new ValidationException("Both from and to dates are required");
+        }
+        
+        if (to.isBefore(from)) {
+            throw new ValidationException("The to date cannot be before the from date");
+        }
+        
+        if (to.isAfter(from.plusYears(MAX_OCCURRENCE_RANGE_YEARS))) {
+            throw new ValidationException("Occurrence range cannot exceed " + MAX_OCCURRENCE_RANGE_YEARS + " years");
+        }
+        
+        if (limit < 1) {
+            throw new ValidationException("Limit must be at least 1");
+        }
+    }
+
+    private void validateYearMonth(int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new ValidationException("Month must be between 1 and 12");
+        }
+        
+        if (year < 1 || year > 9999) {
+            throw new ValidationException("Year must be between 1 and 9999");
+        }
+    }
+
     private void validateId(String id) {
         if (id == null || id.trim().isEmpty()) {
             throw new ValidationException("ID cannot be null or empty");
         }
     }
 
+    private Set<String> validateLookupIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("At least one ID is required");
+        }
+        
+        Set<String> distinctIds = new LinkedHashSet<>();
+        for (String id : ids) {
+            validateId(id);
+            distinctIds.add(id.trim());
+        }
+        if (distinctIds.size() > MAX_LOOKUP_IDS) {
+            throw new ValidationException("Cannot look up more than " + MAX_LOOKUP_IDS + " IDs at once");
+        }
+        return distinctIds;
+    }
+
+    private void validateBulkDeleteRequest(BulkDeleteRequest request) {
+        if (request == null) {
+            throw new ValidationException("Request cannot be null");
+        }
+        
+        if (request.getIds() == null && request.getEventType() == null && !Boolean.TRUE.equals(request.getPastOneOffOnly())) {
+            throw new ValidationException("At least one of ids, eventType or pastOneOffOnly is required");
+        }
+        
+        if (request.getIds() != null) {
+            if (request.getIds().isEmpty()) {
+                throw new ValidationException("ids cannot be empty");
+            }
+            
+            if (request.getIds().size() > 1000) {
+                throw new ValidationException("Cannot delete more than 1000 ids per request");
+            }
+            
+            request.getIds().forEach(this::validateId);
+        }
+    }
+
+    private void validatePatchRequest(UpdateBirthdayRequest request) {
+        if (request == null) {
+            throw new ValidationException("Request cannot be null");
+        }
+        
+        if (request.getName() != null && request.getName().trim().isEmpty()) {
+            throw new ValidationException("Name cannot be empty or contain only whitespace");
+        }
+        
+        if (request.getDate() != null) {
+            if (request.getDate().isAfter(LocalDate.now().plusYears(150))) {
+                throw new ValidationException("Date cannot be more than 150 years in the future");
+            }
+            
+            if (request.getDate().isBefore(LocalDate.now().minusYears(150))) {
+                throw new ValidationException("Date cannot be more than 150 years in the past");
+            }
+        }
+        
+        // An empty owner ID clears the owner
+        if (request.getOwnerId() != null && !request.getOwnerId().isEmpty()) {
+            FriendFeedService.validateUserId(request.getOwnerId(), "Owner ID");
+        }
+    }
+
     private void validateCreateRequest(CreateBirthdayRequest request) {
         if (request == null) {
             throw new ValidationException("Request cannot be null");
@@ -192,63 +545,86 @@ public class BirthdayService {
             throw new ValidationException("Date cannot be more than 150 years in the past");
         }
         
-        checkForDuplicateBirthday(request.getName(), request.getDate());
+        if (request.getOwnerId() != null) {
+            FriendFeedService.validateUserId(request.getOwnerId(), "Owner ID");
+        }
     }
 
     private void validateUpdateRequest(UpdateBirthdayRequest request) {
-        if (request == null) {
-            throw new ValidationException("Request cannot be null");
-        }
+        validatePatchRequest(request);
         
-        if (request.getName() == null || request.getName().trim().isEmpty()) {
+        if (request.getName() == null) {
             throw new ValidationException("Name is required");
         }
+    }
+
+    private BirthdayResponse applyUpdate(String id, UpdateBirthdayRequest request, Long expectedVersion) {
+        Birthday updatedBirthday = birthdayStore.updateFields(id, buildUpdateFields(request), expectedVersion)
+                .orElseThrow(() -> {
+                    // Only the failure path pays for a second lookup to tell 404 from 412
+                    if (expectedVersion != null && birthdayStore.existsLatest(id)) {
+                        return new VersionConflictException(id, expectedVersion);
+                    }
+                    return new BirthdayNotFoundException(id);
+                });
+        logger.info("Updated birthday with ID: {}", updatedBirthday.getId());
+        readCoalescer.invalidate();
+        upcomingReadModel.onSaved(updatedBirthday);
+        friendFeedService.onSaved(updatedBirthday);
+        changeFeed.publishFromService(BirthdayChangeEvent.Type.UPDATED, updatedBirthday.getId(), updatedBirthday);
         
-        if (request.getDate() != null) {
-            if (request.getDate().isAfter(LocalDate.now().plusYears(150))) {
-                throw new ValidationException("Date cannot be more than 150 years in the future");
-            }
-            
-            if (request.getDate().isBefore(LocalDate.now().minusYears(150))) {
-                throw new ValidationException("Date cannot be more than 150 years in the past");
-            }
-        }
+        return new BirthdayResponse(updatedBirthday);
     }
 
-    private void checkForDuplicateBirthday(String name, LocalDate date) {
-        Optional<Birthday> existingBirthday = birthdayRepository.findByNameAndDate(name.trim(), date);
-        if (existingBirthday.isPresent()) {
-            throw new ValidationException("A birthday with the same name and date already exists");
+    // A full page resumes exactly after its last entry; otherwise the cursor stops short of the unsettled
+    // window so late commits stamped inside it are still picked up
+    private SyncToken.Position advance(SyncToken.Position current, SyncToken.Position last, boolean fullPage,
+                                       SyncToken.Position settled) {
+        if (fullPage || !last.isAfter(settled)) {
+            return last;
         }
+        return settled.isAfter(current) ? settled : current;
     }
 
-    private void updateBirthdayFields(Birthday existingBirthday, UpdateBirthdayRequest request) {
+    private Map<String, Object> buildUpdateFields(UpdateBirthdayRequest request) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        
         if (request.getName() != null && !request.getName().trim().isEmpty()) {
-            existingBirthday.setName(request.getName().trim());
+            fields.put("name", request.getName().trim());
+            fields.put("normalizedName", Birthday.normalizeName(request.getName()));
         }
         
         if (request.getDate() != null) {
-            existingBirthday.setDate(request.getDate());
+            fields.put("date", request.getDate());
+            fields.put("month", request.getDate().getMonthValue());
+            fields.put("day", request.getDate().getDayOfMonth());
         }
         
         if (request.getReminderType() != null) {
-            existingBirthday.setReminderType(request.getReminderType());
+            fields.put("reminderType", request.getReminderType());
         }
         
         if (request.getRepeatType() != null) {
-            existingBirthday.setRepeatType(request.getRepeatType());
+            fields.put("repeatType", request.getRepeatType());
         }
         
         if (request.getEventType() != null) {
-            existingBirthday.setEventType(request.getEventType());
+            fields.put("eventType", request.getEventType());
         }
         
         if (request.getShowPreference() != null) {
-            existingBirthday.setShowPreference(request.getShowPreference());
+            fields.put("showPreference", request.getShowPreference());
         }
         
         if (request.getShowAge() != null) {
-            existingBirthday.setShowAge(request.getShowAge());
+            fields.put("showAge", request.getShowAge());
+        }
+        
+        if (request.getOwnerId() != null) {
+            fields.put("ownerId", request.getOwnerId().isEmpty() ? null : request.getOwnerId());
         }
+        
+        fields.put("updatedAt", LocalDateTime.now());
+        return fields;
     }
 }
\ No newline at end of file
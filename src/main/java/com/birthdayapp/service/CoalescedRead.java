@@ -0,0 +1,13 @@
+package com.birthdayapp.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Concurrent calls with equal arguments share one execution; see ReadCoalescer. The result is shared
+// between callers, so it must not be modified.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@interface CoalescedRead {
+}
\ No newline at end of file
@@ -0,0 +1,281 @@
+package com.birthdayapp.service;
+
+import com.birthdayapp.concurrency.ConcurrencyLimited;
+import com.birthdayapp.dto.BirthdayResponse;
+import com.birthdayapp.exception.ValidationException;
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.TimelineBirthday;
+import com.birthdayapp.model.TimelineEntry;
+import com.birthdayapp.recurrence.RecurrenceRules;
+import com.birthdayapp.repository.BirthdayStore;
+import com.birthdayapp.repository.FriendStore;
+import com.birthdayapp.repository.TimelineStore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Friendships and the friends feed. PUBLIC and FRIENDS_ONLY entries with an owner are copied into each
+// friend's timeline when they are written, with their next occurrence, so a feed read is one range scan
+// of the timeline. Owners with more than fan-out-limit friends are not copied; their friendships are
+// flagged and readers fetch their entries directly. Owners switch back once they drop below 90% of the limit, so one friendship added and
+// removed at the boundary does not redo the fan-out every time.
+@Service
+public class FriendFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FriendFeedService.class);
+
+    private static final Pattern USER_ID = Pattern.compile("[A-Za-z0-9._@-]{1,128}");
+
+    private static final int MAX_FEED_DAYS = 366;
+
+    @Autowired
+    private FriendStore friendStore;
+
+    @Autowired
+    private TimelineStore timelineStore;
+
+    @Autowired
+    private BirthdayStore birthdayStore;
+
+    @Value("${birthday.friends.fan-out-limit:1000}")
+    private int fanOutLimit;
+
+    @Value("${birthday.friends.max-timeline-entries:5000}")
+    private int maxTimelineEntries;
+
+    @ConcurrencyLimited
+    public List<String> getFriends(String userId) {
+        validateUserId(userId, "User ID");
+        return friendStore.findFriends(userId);
+    }
+
+    // Returns false when they were already friends
+    @ConcurrencyLimited
+    public boolean addFriend(String userId, String friendId) {
+        validateFriendship(userId, friendId);
+        if (!friendStore.add(userId, friendId)) {
+            return false;
+        }
+        logger.info("Added friendship between {} and {}", userId, friendId);
+        onFriendAdded(userId, friendId);
+        onFriendAdded(friendId, userId);
+        return true;
+    }
+
+    // Returns false when they were not friends
+    @ConcurrencyLimited
+    public boolean removeFriend(String userId, String friendId) {
+        validateFriendship(userId, friendId);
+        if (!friendStore.remove(userId, friendId)) {
+            return false;
+        }
+        logger.info("Removed friendship between {} and {}", userId, friendId);
+        timelineStore.removeOwner(userId, friendId);
+        timelineStore.removeOwner(friendId, userId);
+        onFriendRemoved(userId);
+        onFriendRemoved(friendId);
+        return true;
+    }
+
+    @ConcurrencyLimited
+    public List<BirthdayResponse> getFriendsUpcoming(String userId, int days) {
+        logger.debug("Fetching friends' upcoming birthdays of {} for next {} days", userId, days);
+        validateUserId(userId, "User ID");
+        if (days < 0 || days > MAX_FEED_DAYS) {
+            throw new ValidationException("Days must be between 0 and " + MAX_FEED_DAYS);
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate last = today.plusDays(days);
+        List<TimelineEntry> entries = findTimeline(userId, today, last);
+        if (entries.size() == maxTimelineEntries) {
+            logger.warn("Timeline of {} has more than {} entries up to {}; the feed stops at {}", userId,
+                    maxTimelineEntries, last, entries.get(entries.size() - 1).getNextOccurrence());
+        }
+        // Keyed by id: while an owner switches mode, their entries can come from both sources
+        Map<String, Birthday> birthdays = new LinkedHashMap<>();
+        entries.forEach(entry -> birthdays.put(entry.getBirthdayId(), entry.toBirthday()));
+
+        List<String> readOwners = friendStore.findFanOutOnReadFriends(userId);
+        if (!readOwners.isEmpty()) {
+            birthdayStore.findByOwnerIdInAndMonthIn(readOwners, monthsBetween(today, last)).stream()
+                    .filter(FriendFeedService::isShared)
+                    .forEach(birthday -> birthdays.put(birthday.getId(), birthday));
+        }
+
+        return birthdays.values().stream()
+                .map(BirthdayResponse::new)
+                .filter(birthday -> birthday.getDaysUntilNext() != null && birthday.getDaysUntilNext() <= days)
+                .sorted(BirthdayService.BY_DAYS_UNTIL_NEXT)
+                .collect(Collectors.toList());
+    }
+
+    // Entries whose occurrence has passed are moved on to the next one as they are read. They sort first,
+    // so each pass either finds none or advances at least one, and a timeline not read for a long time
+    // takes a few passes.
+    private List<TimelineEntry> findTimeline(String userId, LocalDate today, LocalDate last) {
+        while (true) {
+            List<TimelineEntry> entries = timelineStore.findByUserUpTo(userId, last, maxTimelineEntries);
+            Map<String, LocalDate> passed = new HashMap<>();
+            for (TimelineEntry entry : entries) {
+                if (!entry.getNextOccurrence().isBefore(today)) {
+                    break;
+                }
+                TimelineBirthday birthday = entry.getBirthday();
+                passed.put(entry.getId(), nextOccurrence(birthday.getDate(), birthday.getRepeatType(), today));
+            }
+            if (passed.isEmpty()) {
+                return entries;
+            }
+            timelineStore.advance(passed, today);
+        }
+    }
+
+    private static Set<Integer> monthsBetween(LocalDate first, LocalDate last) {
+        Set<Integer> months = new HashSet<>();
+        for (LocalDate month = first.withDayOfMonth(1); !month.isAfter(last) && months.size() < 12; month = month.plusMonths(1)) {
+            months.add(month.getMonthValue());
+        }
+        return months;
+    }
+
+    // The timelines of the embedded profile live in memory, so they are filled again on startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildTimelines() {
+        if (timelineStore.isPersistent()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        Map<String, List<Birthday>> byOwner = birthdayStore.findAll().stream()
+                .filter(birthday -> birthday.getOwnerId() != null && isShared(birthday))
+                .collect(Collectors.groupingBy(Birthday::getOwnerId));
+        int copied = 0;
+        for (Map.Entry<String, List<Birthday>> owner : byOwner.entrySet()) {
+            if (!friendStore.isFanOutOnRead(owner.getKey())) {
+                List<TimelineEntry> entries = entriesFor(friendStore.findFriends(owner.getKey()), owner.getValue());
+                timelineStore.putAll(entries);
+                copied += entries.size();
+            }
+        }
+        logger.info("Rebuilt friend timelines with {} entries in {} ms", copied, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    // The write itself succeeded; a failed fan-out leaves the friends' timelines stale until the entry changes again
+    void onSaved(Birthday birthday) {
+        try {
+            List<TimelineEntry> entries = List.of();
+            String ownerId = birthday.getOwnerId();
+            if (ownerId != null && isShared(birthday) && !friendStore.isFanOutOnRead(ownerId)) {
+                entries = entriesFor(friendStore.findFriends(ownerId), List.of(birthday));
+            }
+            timelineStore.replaceBirthday(birthday.getId(), entries);
+        } catch (RuntimeException e) {
+            logger.warn("Updating friend timelines for {} failed: {}", birthday.getId(), e.getMessage());
+        }
+    }
+
+    void onDeleted(String id) {
+        try {
+            timelineStore.replaceBirthday(id, List.of());
+        } catch (RuntimeException e) {
+            logger.warn("Removing {} from friend timelines failed: {}", id, e.getMessage());
+        }
+    }
+
+    void onDeleted(Collection<String> ids, Birthday.EventType eventType) {
+        try {
+            timelineStore.removeMatching(ids, eventType);
+        } catch (RuntimeException e) {
+            logger.warn("Removing deleted entries from friend timelines failed: {}", e.getMessage());
+        }
+    }
+
+    static void validateUserId(String userId, String label) {
+        if (userId == null || !USER_ID.matcher(userId).matches()) {
+            throw new ValidationException(label + " must be 1 to 128 letters, digits or . _ @ -");
+        }
+    }
+
+    private void onFriendAdded(String ownerId, String readerId) {
+        // The new friendship already carries the owner's flag
+        if (friendStore.isFanOutOnRead(ownerId)) {
+            return;
+        }
+        if (friendStore.countFriends(ownerId) > fanOutLimit) {
+            // Flag first: readers skip duplicates but would miss entries removed before the flag is set
+            friendStore.setFanOutOnRead(ownerId, true);
+            timelineStore.removeOwner(null, ownerId);
+            logger.info("{} has more than {} friends; their entries are now read on request", ownerId, fanOutLimit);
+        } else {
+            timelineStore.putAll(entriesFor(List.of(readerId), sharedBirthdaysOf(ownerId)));
+        }
+    }
+
+    private void onFriendRemoved(String ownerId) {
+        if (friendStore.isFanOutOnRead(ownerId) && friendStore.countFriends(ownerId) <= fanOutLimit * 9L / 10) {
+            // Copy first, for the same reason
+            timelineStore.putAll(entriesFor(friendStore.findFriends(ownerId), sharedBirthdaysOf(ownerId)));
+            friendStore.setFanOutOnRead(ownerId, false);
+            logger.info("{} is back under {} friends; their entries are copied to timelines again", ownerId, fanOutLimit);
+        }
+    }
+
+    private List<Birthday> sharedBirthdaysOf(String ownerId) {
+        return birthdayStore.findByOwnerIdIn(List.of(ownerId)).stream()
+                .filter(FriendFeedService::isShared)
+                .toList();
+    }
+
+    // Entries with no occurrence left never show up in a feed, so they are not copied
+    private static List<TimelineEntry> entriesFor(List<String> readerIds, List<Birthday> birthdays) {
+        LocalDate today = LocalDate.now();
+        List<TimelineEntry> entries = new ArrayList<>(readerIds.size() * birthdays.size());
+        for (Birthday birthday : birthdays) {
+            LocalDate nextOccurrence = nextOccurrence(birthday.getDate(), birthday.getRepeatType(), today);
+            if (nextOccurrence == null) {
+                continue;
+            }
+            for (String readerId : readerIds) {
+                entries.add(new TimelineEntry(readerId, birthday, nextOccurrence));
+            }
+        }
+        return entries;
+    }
+
+    private static LocalDate nextOccurrence(LocalDate date, Birthday.RepeatType repeatType, LocalDate today) {
+        if (date == null) {
+            return null;
+        }
+        return RecurrenceRules.nextOccurrence(date, repeatType, today);
+    }
+
+    private static boolean isShared(Birthday birthday) {
+        return birthday.getShowPreference() == Birthday.ShowPreference.PUBLIC
+                || birthday.getShowPreference() == Birthday.ShowPreference.FRIENDS_ONLY;
+    }
+
+    private void validateFriendship(String userId, String friendId) {
+        validateUserId(userId, "User ID");
+        validateUserId(friendId, "Friend ID");
+        if (userId.equals(friendId)) {
+            throw new ValidationException("Users cannot befriend themselves");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.birthdayapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Lets concurrent identical reads share one execution. Nothing outlives the execution itself, so this
+// is not a cache. Local writes call invalidate() so later readers never join a read that started
+// before the write. Runs outside the concurrency limit: only the leading call takes a slot.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+class ReadCoalescer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Around("@annotation(com.birthdayapp.service.CoalescedRead)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        String query = joinPoint.getSignature().getName();
+        String key = query + Arrays.toString(joinPoint.getArgs());
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            meterRegistry.counter("birthday.coalescing.calls", "query", query, "role", "joined").increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+
+        meterRegistry.counter("birthday.coalescing.calls", "query", query, "role", "leader").increment();
+        try {
+            Object result = joinPoint.proceed();
+            own.complete(result);
+            return result;
+        } catch (Throwable e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    void invalidate() {
+        inFlight.clear();
+    }
+}
\ No newline at end of file
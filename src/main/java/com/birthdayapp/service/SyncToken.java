@@ -0,0 +1,91 @@
+package com.birthdayapp.service;
+
+import com.birthdayapp.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+// Opaque delta sync cursor holding how far a client has read the (updatedAt, id) and (deletedAt, id) orders
+final class SyncToken {
+
+    private static final String VERSION = "1";
+
+    private final Position updated;
+    private final Position deleted;
+
+    SyncToken(Position updated, Position deleted) {
+        this.updated = updated;
+        this.deleted = deleted;
+    }
+
+    Position getUpdated() {
+        return updated;
+    }
+
+    Position getDeleted() {
+        return deleted;
+    }
+
+    String encode() {
+        String raw = String.join("|", VERSION, updated.encodeTime(), updated.encodeId(), deleted.encodeTime(), deleted.encodeId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new ValidationException("Invalid since token");
+            }
+            return new SyncToken(Position.decode(parts[1], parts[2]), Position.decode(parts[3], parts[4]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid since token");
+        }
+    }
+
+    // A point in a keyset order; a null time is the very beginning and a null id precedes every id at that time
+    static final class Position {
+
+        static final Position START = new Position(null, null);
+
+        private static final Comparator<Position> ORDER = Comparator
+                .comparing((Position position) -> position.time, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(position -> position.id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        private final LocalDateTime time;
+        private final String id;
+
+        Position(LocalDateTime time, String id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        LocalDateTime getTime() {
+            return time;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        boolean isAfter(Position other) {
+            return ORDER.compare(this, other) > 0;
+        }
+
+        private String encodeTime() {
+            return time != null ? time.toString() : "";
+        }
+
+        private String encodeId() {
+            return id != null ? id : "";
+        }
+
+        private static Position decode(String time, String id) {
+            return new Position(time.isEmpty() ? null : LocalDateTime.parse(time), id.isEmpty() ? null : id);
+        }
+    }
+}
\ No newline at end of file
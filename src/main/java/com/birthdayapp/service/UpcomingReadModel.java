@@ -0,0 +1,153 @@
+package com.birthdayapp.service;
+
+import com.birthdayapp.dto.BirthdayResponse;
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.UpcomingBirthday;
+import com.birthdayapp.recurrence.RecurrenceRules;
+import com.birthdayapp.repository.UpcomingStore;
+import com.birthdayapp.storage.BirthdayWorkingSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// Materialized upcoming view: each entry's next occurrence, countdown and age, precomputed for the
+// current day and sorted by date, so upcoming reads are one range scan. Rebuilt when the date changes
+// and patched on BirthdayService writes. Rows carry the entry's version and removals leave markers,
+// so a rebuild on one instance cannot undo a patch made on another. Until the rebuild for today
+// completes, find() returns null and callers compute the result themselves. Writes made directly in
+// the database show up after the next rebuild.
+@Component
+public class UpcomingReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpcomingReadModel.class);
+
+    @Autowired
+    private BirthdayWorkingSet workingSet;
+
+    @Autowired
+    private UpcomingStore upcomingStore;
+
+    @Value("${birthday.upcoming.read-model.enabled:true}")
+    private boolean enabled;
+
+    private volatile LocalDate readyFor;
+
+    // A failed patch leaves a wrong row marked current. The next rebuild replaces rows older than its
+    // snapshot, and reapplies failed removals, whose entries are missing from the snapshot.
+    private volatile boolean forceRebuild;
+
+    private final Queue<Consumer<LocalDate>> failedRemovals = new ConcurrentLinkedQueue<>();
+
+    @Scheduled(fixedDelayString = "${birthday.upcoming.read-model.check-interval-ms:60000}")
+    public void rebuildIfNeeded() {
+        LocalDate today = LocalDate.now();
+        if (!enabled || (today.equals(readyFor) && !forceRebuild)) {
+            return;
+        }
+
+        try {
+            rebuild(today);
+        } catch (RuntimeException e) {
+            logger.warn("Rebuilding the upcoming view for {} failed, retrying on the next check: {}", today, e.getMessage());
+        }
+    }
+
+    private void rebuild(LocalDate today) {
+        long startNanos = System.nanoTime();
+        forceRebuild = false;
+        readyFor = null;
+        List<UpcomingBirthday> rows = workingSet.findAll().stream()
+                .map(birthday -> toRow(birthday, today))
+                .filter(Objects::nonNull)
+                .toList();
+        upcomingStore.refresh(today, rows);
+        Consumer<LocalDate> removal;
+        while ((removal = failedRemovals.peek()) != null) {
+            removal.accept(today);
+            failedRemovals.remove();
+        }
+        upcomingStore.removeBuiltBefore(today);
+
+        if (!forceRebuild) {
+            readyFor = today;
+        }
+        logger.info("Rebuilt the upcoming view for {} in {} ms", today, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    // Null until the view has been built for today
+    public List<BirthdayResponse> find(int days) {
+        LocalDate today = LocalDate.now();
+        if (!enabled || !today.equals(readyFor)) {
+            return null;
+        }
+        return upcomingStore.findUpTo(today, today.plusDays(days)).stream()
+                .map(row -> new BirthdayResponse(row.getBirthday(), row.getDaysUntilNext(), row.getAge()))
+                .toList();
+    }
+
+    void onSaved(Birthday birthday) {
+        LocalDate today = LocalDate.now();
+        UpcomingBirthday row = toRow(birthday, today);
+        if (row != null) {
+            patch(date -> upcomingStore.put(row), null);
+        } else {
+            // Guarded on retry, since the entry may have been saved again with an occurrence since
+            patch(date -> upcomingStore.remove(birthday.getId(), birthday.getVersion(), date),
+                    date -> upcomingStore.refresh(date, List.of(UpcomingBirthday.removed(birthday.getId(), birthday.getVersion(), date))));
+        }
+    }
+
+    void onDeleted(String id) {
+        Consumer<LocalDate> removal = date -> upcomingStore.remove(id, null, date);
+        patch(removal, removal);
+    }
+
+    void onDeleted(Collection<String> ids, Birthday.EventType eventType) {
+        Consumer<LocalDate> removal = date -> upcomingStore.removeMatching(ids, eventType, date);
+        patch(removal, removal);
+    }
+
+    // The write itself succeeded, so a failed patch only takes the view out of service until it is rebuilt.
+    // Removals are kept to be applied again after the rebuild; saved entries are in its snapshot.
+    private void patch(Consumer<LocalDate> update, Consumer<LocalDate> retry) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            update.accept(LocalDate.now());
+        } catch (RuntimeException e) {
+            logger.warn("Patching the upcoming view failed, serving computed results until the next rebuild: {}", e.getMessage());
+            if (retry != null) {
+                failedRemovals.add(retry);
+            }
+            forceRebuild = true;
+            readyFor = null;
+        }
+    }
+
+    private UpcomingBirthday toRow(Birthday birthday, LocalDate today) {
+        if (birthday.getDate() == null) {
+            return null;
+        }
+        LocalDate nextOccurrence = RecurrenceRules.nextOccurrence(birthday.getDate(), birthday.getRepeatType(), today);
+        if (nextOccurrence == null) {
+            return null;
+        }
+        return new UpcomingBirthday(birthday, today, nextOccurrence,
+                (int) ChronoUnit.DAYS.between(today, nextOccurrence),
+                BirthdayResponse.ageOn(birthday.getDate(), today));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.Birthday;
+
+import org.bson.types.ObjectId;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// Compact binary form of a birthday for working set snapshots: a presence mask, ObjectId ids as 12 raw
+// bytes, dates as epoch days and enums as ordinals. SCHEMA changes whenever enum constants do, so a
+// snapshot from a build with different constants is discarded instead of misread.
+final class BirthdayBinaryCodec {
+
+    private static final int FORMAT_VERSION = 2;
+
+    static final long SCHEMA = schemaFingerprint();
+
+    private static final int HAS_NAME = 1;
+    private static final int HAS_DATE = 1 << 1;
+    private static final int HAS_REMINDER_TYPE = 1 << 2;
+    private static final int HAS_REPEAT_TYPE = 1 << 3;
+    private static final int HAS_EVENT_TYPE = 1 << 4;
+    private static final int HAS_SHOW_PREFERENCE = 1 << 5;
+    private static final int HAS_SHOW_AGE = 1 << 6;
+    private static final int HAS_CREATED_AT = 1 << 7;
+    private static final int HAS_UPDATED_AT = 1 << 8;
+    private static final int HAS_VERSION = 1 << 9;
+    private static final int OBJECT_ID = 1 << 10;
+    private static final int HAS_OWNER_ID = 1 << 11;
+
+    private BirthdayBinaryCodec() {}
+
+    static byte[] encode(Birthday birthday) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            boolean objectId = ObjectId.isValid(birthday.getId());
+            int mask = (objectId ? OBJECT_ID : 0)
+                    | (birthday.getName() != null ? HAS_NAME : 0)
+                    | (birthday.getDate() != null ? HAS_DATE : 0)
+                    | (birthday.getReminderType() != null ? HAS_REMINDER_TYPE : 0)
+                    | (birthday.getRepeatType() != null ? HAS_REPEAT_TYPE : 0)
+                    | (birthday.getEventType() != null ? HAS_EVENT_TYPE : 0)
+                    | (birthday.getShowPreference() != null ? HAS_SHOW_PREFERENCE : 0)
+                    | (birthday.getShowAge() != null ? HAS_SHOW_AGE : 0)
+                    | (birthday.getCreatedAt() != null ? HAS_CREATED_AT : 0)
+                    | (birthday.getUpdatedAt() != null ? HAS_UPDATED_AT : 0)
+                    | (birthday.getVersion() != null ? HAS_VERSION : 0)
+                    | (birthday.getOwnerId() != null ? HAS_OWNER_ID : 0);
+            out.writeShort(mask);
+
+            if (objectId) {
+                out.write(new ObjectId(birthday.getId()).toByteArray());
+            } else {
+                writeString(out, birthday.getId());
+            }
+            if (birthday.getName() != null) {
+                writeString(out, birthday.getName());
+            }
+            if (birthday.getDate() != null) {
+                out.writeInt((int) birthday.getDate().toEpochDay());
+            }
+            if (birthday.getReminderType() != null) {
+                out.writeByte(birthday.getReminderType().ordinal());
+            }
+            if (birthday.getRepeatType() != null) {
+                out.writeByte(birthday.getRepeatType().ordinal());
+            }
+            if (birthday.getEventType() != null) {
+                out.writeByte(birthday.getEventType().ordinal());
+            }
+            if (birthday.getShowPreference() != null) {
+                out.writeByte(birthday.getShowPreference().ordinal());
+            }
+            if (birthday.getShowAge() != null) {
+                out.writeBoolean(birthday.getShowAge());
+            }
+            if (birthday.getCreatedAt() != null) {
+                writeDateTime(out, birthday.getCreatedAt());
+            }
+            if (birthday.getUpdatedAt() != null) {
+                writeDateTime(out, birthday.getUpdatedAt());
+            }
+            if (birthday.getVersion() != null) {
+                out.writeLong(birthday.getVersion());
+            }
+            if (birthday.getOwnerId() != null) {
+                writeString(out, birthday.getOwnerId());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Birthday decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        int mask = in.getShort();
+        Birthday birthday = new Birthday();
+
+        if ((mask & OBJECT_ID) != 0) {
+            byte[] id = new byte[12];
+            in.get(id);
+            birthday.setId(new ObjectId(id).toHexString());
+        } else {
+            birthday.setId(readString(in));
+        }
+        // month, day and normalizedName are derived again by setDate and setName
+        if ((mask & HAS_NAME) != 0) {
+            birthday.setName(readString(in));
+        }
+        if ((mask & HAS_DATE) != 0) {
+            birthday.setDate(LocalDate.ofEpochDay(in.getInt()));
+        }
+        if ((mask & HAS_REMINDER_TYPE) != 0) {
+            birthday.setReminderType(Birthday.ReminderType.values()[in.get()]);
+        }
+        if ((mask & HAS_REPEAT_TYPE) != 0) {
+            birthday.setRepeatType(Birthday.RepeatType.values()[in.get()]);
+        }
+        if ((mask & HAS_EVENT_TYPE) != 0) {
+            birthday.setEventType(Birthday.EventType.values()[in.get()]);
+        }
+        if ((mask & HAS_SHOW_PREFERENCE) != 0) {
+            birthday.setShowPreference(Birthday.ShowPreference.values()[in.get()]);
+        }
+        if ((mask & HAS_SHOW_AGE) != 0) {
+            birthday.setShowAge(in.get() != 0);
+        }
+        if ((mask & HAS_CREATED_AT) != 0) {
+            birthday.setCreatedAt(readDateTime(in));
+        }
+        if ((mask & HAS_UPDATED_AT) != 0) {
+            birthday.setUpdatedAt(readDateTime(in));
+        }
+        if ((mask & HAS_VERSION) != 0) {
+            birthday.setVersion(in.getLong());
+        }
+        if ((mask & HAS_OWNER_ID) != 0) {
+            birthday.setOwnerId(readString(in));
+        }
+        return birthday;
+    }
+
+    static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    static LocalDateTime readDateTime(ByteBuffer in) {
+        return LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long schemaFingerprint() {
+        CRC32C crc = new CRC32C();
+        crc.update(FORMAT_VERSION);
+        for (Enum<?>[] constants : List.<Enum<?>[]>of(Birthday.ReminderType.values(), Birthday.RepeatType.values(),
+                Birthday.EventType.values(), Birthday.ShowPreference.values())) {
+            for (Enum<?> constant : constants) {
+                crc.update(constant.name().getBytes(StandardCharsets.UTF_8));
+            }
+            crc.update(0);
+        }
+        return crc.getValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.BirthdayTombstone;
+import com.birthdayapp.model.Friendship;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+
+// On-disk form of birthdays, tombstones and friendships. Uses its own mapper so spring.jackson.* settings for the API can't change the file format.
+final class BirthdayCodec {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            // month, day and normalizedName are derived again by setDate and setName
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private BirthdayCodec() {}
+
+    static byte[] encode(Birthday birthday) throws IOException {
+        return MAPPER.writeValueAsBytes(birthday);
+    }
+
+    static Birthday decode(byte[] payload) throws IOException {
+        return MAPPER.readValue(payload, Birthday.class);
+    }
+
+    static byte[] encodeTombstone(BirthdayTombstone tombstone) throws IOException {
+        return MAPPER.writeValueAsBytes(tombstone);
+    }
+
+    static BirthdayTombstone decodeTombstone(byte[] payload) throws IOException {
+        return MAPPER.readValue(payload, BirthdayTombstone.class);
+    }
+
+    static byte[] encodeFriendship(Friendship friendship) throws IOException {
+        return MAPPER.writeValueAsBytes(friendship);
+    }
+
+    static Friendship decodeFriendship(byte[] payload) throws IOException {
+        return MAPPER.readValue(payload, Friendship.class);
+    }
+}
\ No newline at end of file
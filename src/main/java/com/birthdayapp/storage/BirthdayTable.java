@@ -0,0 +1,337 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.BirthdayTombstone;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// One named collection held fully in memory: a snapshot plus the mutation log replayed on top of it,
+// with secondary indexes for the lookups BirthdayService makes. Callers hold EmbeddedBirthdayStore's lock.
+final class BirthdayTable implements Closeable {
+
+    // Keyset order for delta sync; a null id sorts before every id with the same timestamp
+    private static final Comparator<Birthday> BY_UPDATED_AT = Comparator
+            .comparing(Birthday::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Birthday::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final Comparator<BirthdayTombstone> BY_DELETED_AT = Comparator
+            .comparing(BirthdayTombstone::getDeletedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(BirthdayTombstone::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final String name;
+    private final Path snapshotPath;
+    private final Path compactingLogPath;
+    private final MutationLog log;
+
+    private final Map<String, Entry> byId = new LinkedHashMap<>();
+    private final Map<Birthday.EventType, Set<String>> byEventType = new EnumMap<>(Birthday.EventType.class);
+    private final Map<Birthday.RepeatType, Set<String>> byRepeatType = new EnumMap<>(Birthday.RepeatType.class);
+    private final Map<Integer, Set<String>> byMonth = new HashMap<>();
+    private final NavigableMap<String, Set<String>> byName = new TreeMap<>();
+    // Mirrors name_date_unique_idx
+    private final Map<String, String> byNameAndDate = new HashMap<>();
+    private final NavigableSet<Birthday> byUpdatedAt = new TreeSet<>(BY_UPDATED_AT);
+
+    private final Map<String, TombstoneEntry> tombstones = new HashMap<>();
+    private final NavigableSet<BirthdayTombstone> tombstonesByDeletedAt = new TreeSet<>(BY_DELETED_AT);
+
+    private int snapshotRecords;
+    private int replayedRecords;
+
+    private BirthdayTable(Path directory, String name, boolean syncOnWrite) {
+        this.name = name;
+        this.snapshotPath = directory.resolve(name + ".snapshot");
+        this.compactingLogPath = directory.resolve(name + ".log.compacting");
+        this.log = new MutationLog(directory.resolve(name + ".log"), syncOnWrite);
+    }
+
+    static BirthdayTable open(Path directory, String name, boolean syncOnWrite) throws IOException {
+        BirthdayTable table = new BirthdayTable(directory, name, syncOnWrite);
+        try {
+            table.snapshotRecords = SnapshotFile.read(table.snapshotPath, table::apply);
+            // A log left by an interrupted compaction predates the current log; replaying it again is harmless
+            table.replayedRecords = MutationLog.replay(table.compactingLogPath, table::apply);
+            table.replayedRecords += table.log.open(table::apply);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (Files.exists(table.compactingLogPath)) {
+            table.finishCompaction(table.records());
+        }
+        return table;
+    }
+
+    Birthday get(String id) {
+        Entry entry = byId.get(id);
+        return entry != null ? entry.birthday : null;
+    }
+
+    List<Birthday> all() {
+        List<Birthday> birthdays = new ArrayList<>(byId.size());
+        byId.values().forEach(entry -> birthdays.add(entry.birthday));
+        return birthdays;
+    }
+
+    List<Birthday> findByEventType(Birthday.EventType eventType) {
+        return resolve(byEventType.get(eventType));
+    }
+
+    List<Birthday> findByRepeatType(Birthday.RepeatType repeatType) {
+        return resolve(byRepeatType.get(repeatType));
+    }
+
+    List<Birthday> findByMonth(int month) {
+        return resolve(byMonth.get(month));
+    }
+
+    // Scans distinct normalized names rather than every birthday
+    List<Birthday> findByNameContaining(String normalizedTerm) {
+        List<Birthday> birthdays = new ArrayList<>();
+        byName.forEach((name, ids) -> {
+            if (name.contains(normalizedTerm)) {
+                ids.forEach(id -> birthdays.add(byId.get(id).birthday));
+            }
+        });
+        return birthdays;
+    }
+
+    List<Birthday> findUpdatedAfter(LocalDateTime updatedAt, String afterId, int limit) {
+        Collection<Birthday> candidates = byUpdatedAt;
+        if (updatedAt != null) {
+            Birthday position = new Birthday();
+            position.setUpdatedAt(updatedAt);
+            position.setId(afterId);
+            candidates = byUpdatedAt.tailSet(position, false);
+        }
+        return candidates.stream().limit(limit).toList();
+    }
+
+    List<BirthdayTombstone> findTombstonesAfter(LocalDateTime deletedAt, String afterId, int limit) {
+        Collection<BirthdayTombstone> candidates = tombstonesByDeletedAt;
+        if (deletedAt != null) {
+            candidates = tombstonesByDeletedAt.tailSet(new BirthdayTombstone(afterId, deletedAt), false);
+        }
+        return candidates.stream().limit(limit).toList();
+    }
+
+    // Id of another birthday holding the same normalized name and date, if any
+    String conflictingId(Birthday birthday) {
+        String key = nameAndDateKey(birthday);
+        String existing = key != null ? byNameAndDate.get(key) : null;
+        return existing != null && !existing.equals(birthday.getId()) ? existing : null;
+    }
+
+    // Logs the new state before exposing it and returns the stored copy
+    Birthday put(Birthday birthday) throws IOException {
+        byte[] payload = BirthdayCodec.encode(birthday);
+        log.append(RecordCodec.PUT, payload);
+        Birthday stored = BirthdayCodec.decode(payload);
+        index(stored, payload);
+        return stored;
+    }
+
+    boolean delete(String id) throws IOException {
+        if (!byId.containsKey(id)) {
+            return false;
+        }
+        BirthdayTombstone tombstone = new BirthdayTombstone(id, LocalDateTime.now());
+        byte[] payload = BirthdayCodec.encodeTombstone(tombstone);
+        log.append(RecordCodec.DELETE, payload);
+        unindex(id);
+        addTombstone(tombstone, payload);
+        return true;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    int getLogRecords() {
+        return log.getRecords();
+    }
+
+    int getSnapshotRecords() {
+        return snapshotRecords;
+    }
+
+    int getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    boolean hasPendingCompaction() {
+        return Files.exists(compactingLogPath);
+    }
+
+    // First half of compaction, under the write lock: drops expired tombstones, captures the current
+    // state and starts a fresh log
+    List<RecordCodec.Record> beginCompaction(LocalDateTime tombstoneCutoff) throws IOException {
+        while (!tombstonesByDeletedAt.isEmpty() && tombstonesByDeletedAt.first().getDeletedAt().isBefore(tombstoneCutoff)) {
+            tombstones.remove(tombstonesByDeletedAt.pollFirst().getId());
+        }
+
+        List<RecordCodec.Record> records = records();
+        // A leftover log from a failed compaction must not be overwritten before a snapshot covers it
+        if (!hasPendingCompaction()) {
+            log.rotateTo(compactingLogPath);
+        }
+        return records;
+    }
+
+    // Second half, outside the lock: the snapshot covers everything in the rotated log, which can then go
+    void finishCompaction(List<RecordCodec.Record> records) throws IOException {
+        SnapshotFile.write(snapshotPath, records);
+        Files.deleteIfExists(compactingLogPath);
+        snapshotRecords = records.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    private void apply(RecordCodec.Record record) {
+        try {
+            if (record.getType() == RecordCodec.PUT) {
+                index(BirthdayCodec.decode(record.getPayload()), record.getPayload());
+            } else {
+                BirthdayTombstone tombstone = BirthdayCodec.decodeTombstone(record.getPayload());
+                unindex(tombstone.getId());
+                addTombstone(tombstone, record.getPayload());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void index(Birthday birthday, byte[] payload) {
+        unindex(birthday.getId());
+        removeTombstone(birthday.getId());
+        byId.put(birthday.getId(), new Entry(birthday, payload));
+        byUpdatedAt.add(birthday);
+
+        if (birthday.getEventType() != null) {
+            byEventType.computeIfAbsent(birthday.getEventType(), key -> new LinkedHashSet<>()).add(birthday.getId());
+        }
+        if (birthday.getRepeatType() != null) {
+            byRepeatType.computeIfAbsent(birthday.getRepeatType(), key -> new LinkedHashSet<>()).add(birthday.getId());
+        }
+        if (birthday.getMonth() != null) {
+            byMonth.computeIfAbsent(birthday.getMonth(), key -> new LinkedHashSet<>()).add(birthday.getId());
+        }
+        if (birthday.getNormalizedName() != null) {
+            byName.computeIfAbsent(birthday.getNormalizedName(), key -> new LinkedHashSet<>()).add(birthday.getId());
+        }
+        String key = nameAndDateKey(birthday);
+        if (key != null) {
+            byNameAndDate.put(key, birthday.getId());
+        }
+    }
+
+    private void unindex(String id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) {
+            return;
+        }
+
+        Birthday birthday = entry.birthday;
+        byUpdatedAt.remove(birthday);
+        removeFrom(byEventType, birthday.getEventType(), id);
+        removeFrom(byRepeatType, birthday.getRepeatType(), id);
+        removeFrom(byMonth, birthday.getMonth(), id);
+        removeFrom(byName, birthday.getNormalizedName(), id);
+        String key = nameAndDateKey(birthday);
+        if (key != null) {
+            byNameAndDate.remove(key, id);
+        }
+    }
+
+    private void addTombstone(BirthdayTombstone tombstone, byte[] payload) {
+        removeTombstone(tombstone.getId());
+        tombstones.put(tombstone.getId(), new TombstoneEntry(tombstone, payload));
+        tombstonesByDeletedAt.add(tombstone);
+    }
+
+    private void removeTombstone(String id) {
+        TombstoneEntry entry = tombstones.remove(id);
+        if (entry != null) {
+            tombstonesByDeletedAt.remove(entry.tombstone);
+        }
+    }
+
+    private List<Birthday> resolve(Collection<String> ids) {
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        List<Birthday> birthdays = new ArrayList<>(ids.size());
+        ids.forEach(id -> birthdays.add(byId.get(id).birthday));
+        return birthdays;
+    }
+
+    private List<RecordCodec.Record> records() {
+        List<RecordCodec.Record> records = new ArrayList<>(byId.size() + tombstones.size());
+        byId.values().forEach(entry -> records.add(new RecordCodec.Record(RecordCodec.PUT, entry.payload)));
+        tombstones.values().forEach(entry -> records.add(new RecordCodec.Record(RecordCodec.DELETE, entry.payload)));
+        return records;
+    }
+
+    private static <K> void removeFrom(Map<K, Set<String>> index, K key, String id) {
+        if (key == null) {
+            return;
+        }
+        Set<String> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static String nameAndDateKey(Birthday birthday) {
+        return birthday.getNormalizedName() != null ? birthday.getNormalizedName() + '\u0000' + birthday.getDate() : null;
+    }
+
+    // The encoded form is kept so compaction copies bytes instead of re-serializing every birthday
+    private static final class Entry {
+
+        private final Birthday birthday;
+        private final byte[] payload;
+
+        private Entry(Birthday birthday, byte[] payload) {
+            this.birthday = birthday;
+            this.payload = payload;
+        }
+    }
+
+    private static final class TombstoneEntry {
+
+        private final BirthdayTombstone tombstone;
+        private final byte[] payload;
+
+        private TombstoneEntry(BirthdayTombstone tombstone, byte[] payload) {
+            this.tombstone = tombstone;
+            this.payload = payload;
+        }
+    }
+}
\ No newline at end of file
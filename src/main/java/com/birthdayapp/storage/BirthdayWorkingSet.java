@@ -0,0 +1,230 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.BirthdayTombstone;
+import com.birthdayapp.repository.BirthdayStore;
+import com.birthdayapp.repository.TombstonePage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Local copy of every birthday for jobs that need the whole set, such as rebuilding the upcoming view
+// or computing the day rollover. At startup it is mapped in from a binary snapshot and then caught up
+// through the delta sync queries (updatedAt and tombstones), so a restart costs a few indexed range
+// reads instead of a full collection scan. A full scan happens only without a usable snapshot.
+@Component
+@EnableConfigurationProperties(WorkingSetProperties.class)
+public class BirthdayWorkingSet {
+
+    private static final Logger logger = LoggerFactory.getLogger(BirthdayWorkingSet.class);
+
+    private static final String SNAPSHOT_FILE = "working-set.snap";
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Autowired
+    private BirthdayStore birthdayStore;
+
+    @Autowired
+    private WorkingSetProperties properties;
+
+    // Changes stamped up to this long before the newest one seen may still commit, so catch-up re-reads them
+    @Value("${birthday.sync.commit-lag-ms:5000}")
+    private long commitLagMs;
+
+    private final Map<String, Birthday> birthdays = new HashMap<>();
+
+    private boolean loaded;
+    private LocalDateTime updatedThrough;
+    private LocalDateTime deletedThrough;
+    private volatile boolean dirty;
+
+    @PostConstruct
+    public synchronized void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Path path = snapshotPath();
+        long startNanos = System.nanoTime();
+        try {
+            WorkingSetSnapshot snapshot = WorkingSetSnapshot.read(path);
+            if (snapshot == null) {
+                return;
+            }
+            // Deletes older than the tombstone retention can no longer be caught up on
+            if (snapshot.getDeletedThrough().isBefore(LocalDateTime.now().minus(BirthdayTombstone.RETENTION))) {
+                logger.info("Ignoring working set snapshot {} from before the tombstone retention", path);
+                return;
+            }
+            snapshot.getBirthdays().forEach(birthday -> birthdays.put(birthday.getId(), birthday));
+            updatedThrough = snapshot.getUpdatedThrough();
+            deletedThrough = snapshot.getDeletedThrough();
+            loaded = true;
+            logger.info("Loaded {} birthdays from working set snapshot {} in {} ms",
+                    birthdays.size(), path, (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            birthdays.clear();
+            logger.warn("Ignoring unreadable working set snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    // Every birthday as of now, including changes made by other instances
+    public List<Birthday> findAll() {
+        if (!properties.isEnabled()) {
+            return birthdayStore.findAllLatest();
+        }
+        synchronized (this) {
+            catchUp();
+            return new ArrayList<>(birthdays.values());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${birthday.working-set.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                catchUp();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Working set catch-up failed, retrying on the next refresh: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${birthday.working-set.snapshot-interval-ms:300000}",
+            initialDelayString = "${birthday.working-set.snapshot-interval-ms:300000}")
+    public void writeSnapshot() {
+        if (!properties.isEnabled() || !dirty) {
+            return;
+        }
+
+        List<Birthday> copy;
+        LocalDateTime updated;
+        LocalDateTime deleted;
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+            copy = new ArrayList<>(birthdays.values());
+            updated = updatedThrough;
+            deleted = deletedThrough;
+            dirty = false;
+        }
+
+        Path path = snapshotPath();
+        long startNanos = System.nanoTime();
+        try {
+            WorkingSetSnapshot.write(path, updated, deleted, copy);
+            logger.info("Wrote {} birthdays to working set snapshot {} in {} ms",
+                    copy.size(), path, (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (IOException e) {
+            dirty = true;
+            logger.warn("Writing working set snapshot {} failed: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        writeSnapshot();
+    }
+
+    private void catchUp() {
+        if (!loaded) {
+            fullLoad();
+            return;
+        }
+
+        int changed = 0;
+        LocalDateTime time = updatedThrough.minusNanos(commitLagMs * 1_000_000);
+        String afterId = null;
+        while (true) {
+            List<Birthday> page = birthdayStore.findUpdatedAfter(time, afterId, PAGE_SIZE);
+            for (Birthday birthday : page) {
+                if (apply(birthday)) {
+                    changed++;
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            Birthday last = page.get(page.size() - 1);
+            time = last.getUpdatedAt();
+            afterId = last.getId();
+        }
+
+        int removed = 0;
+        time = deletedThrough.minusNanos(commitLagMs * 1_000_000);
+        afterId = null;
+        while (true) {
+            TombstonePage page = birthdayStore.findTombstonesAfter(time, afterId, PAGE_SIZE);
+            for (BirthdayTombstone tombstone : page.getTombstones()) {
+                if (birthdays.remove(tombstone.getId()) != null) {
+                    removed++;
+                }
+                if (tombstone.getDeletedAt().isAfter(deletedThrough)) {
+                    deletedThrough = tombstone.getDeletedAt();
+                }
+            }
+            if (!page.isFull()) {
+                break;
+            }
+            BirthdayTombstone last = page.getLastScanned();
+            time = last.getDeletedAt();
+            afterId = last.getId();
+        }
+
+        if (changed > 0 || removed > 0) {
+            dirty = true;
+            logger.debug("Working set caught up: {} changed, {} removed", changed, removed);
+        }
+    }
+
+    private boolean apply(Birthday birthday) {
+        if (birthday.getUpdatedAt() != null && birthday.getUpdatedAt().isAfter(updatedThrough)) {
+            updatedThrough = birthday.getUpdatedAt();
+        }
+        Birthday current = birthdays.get(birthday.getId());
+        // Re-read rows from the lag window are usually unchanged
+        if (current != null && current.getVersion() != null && birthday.getVersion() != null
+                && current.getVersion() >= birthday.getVersion()) {
+            return false;
+        }
+        birthdays.put(birthday.getId(), birthday);
+        return true;
+    }
+
+    private void fullLoad() {
+        long startNanos = System.nanoTime();
+        LocalDateTime scanStart = LocalDateTime.now();
+        birthdays.clear();
+        birthdayStore.findAllLatest().forEach(birthday -> birthdays.put(birthday.getId(), birthday));
+        updatedThrough = scanStart;
+        deletedThrough = scanStart;
+        loaded = true;
+        dirty = true;
+        logger.info("Loaded {} birthdays into the working set by full scan in {} ms",
+                birthdays.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private Path snapshotPath() {
+        return Path.of(properties.getDirectory(), SNAPSHOT_FILE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,371 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.BirthdayTombstone;
+import com.birthdayapp.repository.BirthdayStore;
+import com.birthdayapp.repository.TombstonePage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// File-backed store for single-node deployments without MongoDB. Every mutation is appended to a
+// checksummed log before it becomes visible; compaction periodically folds the log into a snapshot.
+// Returned birthdays are the stored instances: updates replace them rather than mutate them in place.
+@Component
+@Profile("embedded")
+@EnableConfigurationProperties(EmbeddedStorageProperties.class)
+public class EmbeddedBirthdayStore implements BirthdayStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedBirthdayStore.class);
+
+    @Autowired
+    private EmbeddedStorageProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private BirthdayTable birthdays;
+    private BirthdayTable archive;
+
+    @PostConstruct
+    public void open() {
+        long startNanos = System.nanoTime();
+        Path directory = Path.of(properties.getDirectory());
+        try {
+            Files.createDirectories(directory);
+            birthdays = BirthdayTable.open(directory, "birthdays", properties.isSyncOnWrite());
+            archive = BirthdayTable.open(directory, "birthdays_archive", properties.isSyncOnWrite());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open embedded store in " + directory.toAbsolutePath(), e);
+        }
+
+        logger.info("Opened embedded store in {} with {} birthdays ({} from snapshot, {} log records) and {} archived in {} ms",
+                directory.toAbsolutePath(), birthdays.size(), birthdays.getSnapshotRecords(), birthdays.getReplayedRecords(),
+                archive.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    @Override
+    public List<Birthday> findAll() {
+        return read(() -> birthdays.all());
+    }
+
+    @Override
+    public List<Birthday> findAllLatest() {
+        return findAll();
+    }
+
+    @Override
+    public Optional<Birthday> findById(String id) {
+        return read(() -> Optional.ofNullable(birthdays.get(id)));
+    }
+
+    @Override
+    public List<Birthday> findAllById(Collection<String> ids) {
+        return read(() -> ids.stream().map(birthdays::get).filter(Objects::nonNull).toList());
+    }
+
+    @Override
+    public List<Birthday> findByEventType(Birthday.EventType eventType) {
+        return read(() -> birthdays.findByEventType(eventType));
+    }
+
+    @Override
+    public List<Birthday> findByNameContainingIgnoreCase(String name) {
+        String term = name.toLowerCase(Locale.ROOT);
+        return read(() -> birthdays.findByNameContaining(term));
+    }
+
+    @Override
+    public List<Birthday> findByMonth(int month) {
+        return read(() -> birthdays.findByMonth(month));
+    }
+
+    @Override
+    public List<Birthday> findByRepeatTypeIn(Collection<Birthday.RepeatType> repeatTypes) {
+        return read(() -> {
+            List<Birthday> matches = new ArrayList<>();
+            repeatTypes.stream().distinct().forEach(repeatType -> matches.addAll(birthdays.findByRepeatType(repeatType)));
+            return matches;
+        });
+    }
+
+    // Only read for owners with too many friends to fan out to, so a scan is acceptable here
+    @Override
+    public List<Birthday> findByOwnerIdIn(Collection<String> ownerIds) {
+        Set<String> owners = Set.copyOf(ownerIds);
+        return read(() -> birthdays.all().stream()
+                .filter(birthday -> birthday.getOwnerId() != null && owners.contains(birthday.getOwnerId()))
+                .toList());
+    }
+
+    @Override
+    public List<Birthday> findByOwnerIdInAndMonthIn(Collection<String> ownerIds, Collection<Integer> months) {
+        Set<Integer> monthSet = new HashSet<>(months);
+        return findByOwnerIdIn(ownerIds).stream()
+                .filter(birthday -> monthSet.contains(birthday.getMonth())
+                        || birthday.getRepeatType() == Birthday.RepeatType.MONTHLY
+                        || birthday.getRepeatType() == Birthday.RepeatType.WEEKLY)
+                .toList();
+    }
+
+    @Override
+    public Birthday insert(Birthday birthday) {
+        return write(() -> {
+            if (birthday.getId() == null) {
+                birthday.setId(new ObjectId().toHexString());
+            } else if (birthdays.get(birthday.getId()) != null) {
+                throw new DuplicateKeyException("Birthday " + birthday.getId() + " already exists");
+            }
+            rejectDuplicateNameAndDate(birthday);
+            if (birthday.getVersion() == null) {
+                birthday.setVersion(0L);
+            }
+            return birthdays.put(birthday);
+        });
+    }
+
+    @Override
+    public Optional<Birthday> updateFields(String id, Map<String, Object> fields, Long expectedVersion) {
+        return write(() -> {
+            Birthday current = birthdays.get(id);
+            if (current == null || (expectedVersion != null && !expectedVersion.equals(current.getVersion()))) {
+                return Optional.empty();
+            }
+
+            Birthday updated = BirthdayCodec.decode(BirthdayCodec.encode(current));
+            fields.forEach((field, value) -> applyField(updated, field, value));
+            updated.setVersion(current.getVersion() != null ? current.getVersion() + 1 : 1L);
+            rejectDuplicateNameAndDate(updated);
+            return Optional.of(birthdays.put(updated));
+        });
+    }
+
+    @Override
+    public boolean existsLatest(String id) {
+        return read(() -> birthdays.get(id) != null);
+    }
+
+    @Override
+    public long removeById(String id) {
+        return write(() -> birthdays.delete(id) ? 1L : 0L);
+    }
+
+    @Override
+    public long removeMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore) {
+        return removeMatching(birthdays, ids, eventType, oneOffBefore);
+    }
+
+    private long removeMatching(BirthdayTable table, Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore) {
+        if (ids == null && eventType == null && oneOffBefore == null) {
+            throw new IllegalArgumentException("At least one delete filter is required");
+        }
+
+        return write(() -> {
+            List<Birthday> candidates;
+            if (ids != null) {
+                candidates = new ArrayList<>();
+                ids.stream().distinct().map(table::get).filter(Objects::nonNull).forEach(candidates::add);
+            } else if (eventType != null) {
+                candidates = table.findByEventType(eventType);
+            } else {
+                candidates = table.findByRepeatType(Birthday.RepeatType.NEVER);
+            }
+
+            long deleted = 0;
+            for (Birthday birthday : candidates) {
+                boolean matches = (eventType == null || eventType == birthday.getEventType())
+                        && (oneOffBefore == null || isExpiredOneOff(birthday, oneOffBefore));
+                if (matches && table.delete(birthday.getId())) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public int archiveExpiredOneOff(LocalDate before, int batchSize) {
+        List<Birthday> batch = read(() -> birthdays.findByRepeatType(Birthday.RepeatType.NEVER).stream()
+                .filter(birthday -> isExpiredOneOff(birthday, before))
+                .limit(batchSize)
+                .toList());
+
+        // Each move takes the write lock on its own so a large batch never stalls readers
+        int archived = 0;
+        for (Birthday candidate : batch) {
+            boolean moved = write(() -> {
+                Birthday current = birthdays.get(candidate.getId());
+                if (current == null || !isExpiredOneOff(current, before)) {
+                    return false;
+                }
+                archive.put(current);
+                return birthdays.delete(current.getId());
+            });
+            if (moved) {
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    @Override
+    public List<Birthday> findArchived(Birthday.EventType eventType) {
+        return read(() -> eventType != null ? archive.findByEventType(eventType) : archive.all());
+    }
+
+    @Override
+    public Optional<Birthday> findArchivedById(String id) {
+        return read(() -> Optional.ofNullable(archive.get(id)));
+    }
+
+    @Override
+    public long removeArchivedById(String id) {
+        return write(() -> archive.delete(id) ? 1L : 0L);
+    }
+
+    @Override
+    public long removeArchivedMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate oneOffBefore) {
+        return removeMatching(archive, ids, eventType, oneOffBefore);
+    }
+
+    @Override
+    public List<Birthday> findUpdatedAfter(LocalDateTime updatedAt, String afterId, int limit) {
+        return read(() -> birthdays.findUpdatedAfter(updatedAt, afterId, limit));
+    }
+
+    @Override
+    public TombstonePage findTombstonesAfter(LocalDateTime deletedAt, String afterId, int limit) {
+        // Deletes here are atomic, so no tombstone belongs to a live birthday
+        return TombstonePage.of(read(() -> birthdays.findTombstonesAfter(deletedAt, afterId, limit)), limit);
+    }
+
+    @Scheduled(initialDelayString = "${birthday.storage.embedded.compaction-interval-ms:60000}",
+            fixedDelayString = "${birthday.storage.embedded.compaction-interval-ms:60000}")
+    public void compactIfNeeded() {
+        compact(birthdays, properties.getCompactionMinRecords());
+        compact(archive, properties.getCompactionMinRecords());
+    }
+
+    @PreDestroy
+    public void close() {
+        // A final snapshot keeps the next startup from replaying the whole log
+        compact(birthdays, 1);
+        compact(archive, 1);
+        try {
+            birthdays.close();
+            archive.close();
+        } catch (IOException e) {
+            logger.error("Failed to close embedded store: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void compact(BirthdayTable table, int minRecords) {
+        long startNanos = System.nanoTime();
+        try {
+            List<RecordCodec.Record> records;
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                if (table.getLogRecords() < minRecords && !table.hasPendingCompaction()) {
+                    return;
+                }
+                records = table.beginCompaction(LocalDateTime.now().minus(BirthdayTombstone.RETENTION));
+            } finally {
+                writeLock.unlock();
+            }
+
+            table.finishCompaction(records);
+            logger.info("Compacted {} into a snapshot of {} records in {} ms",
+                    table.getName(), records.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (IOException e) {
+            // The log still holds every mutation, so a failed compaction loses nothing and is retried next run
+            logger.error("Compaction of {} failed: {}", table.getName(), e.getMessage());
+        }
+    }
+
+    private void rejectDuplicateNameAndDate(Birthday birthday) {
+        if (birthdays.conflictingId(birthday) != null) {
+            // Names the index the way MongoDB does, so both stores map to the same error response
+            throw new DuplicateKeyException("Duplicate name and date for birthday " + birthday.getId()
+                    + " on index: " + Birthday.NAME_DATE_INDEX);
+        }
+    }
+
+    private static boolean isExpiredOneOff(Birthday birthday, LocalDate before) {
+        return birthday.getRepeatType() == Birthday.RepeatType.NEVER
+                && birthday.getDate() != null
+                && birthday.getDate().isBefore(before);
+    }
+
+    // Field names match the document fields BirthdayService passes to updateFields
+    private static void applyField(Birthday birthday, String field, Object value) {
+        switch (field) {
+            case "name" -> birthday.setName((String) value);
+            case "date" -> birthday.setDate((LocalDate) value);
+            case "reminderType" -> birthday.setReminderType((Birthday.ReminderType) value);
+            case "repeatType" -> birthday.setRepeatType((Birthday.RepeatType) value);
+            case "eventType" -> birthday.setEventType((Birthday.EventType) value);
+            case "showPreference" -> birthday.setShowPreference((Birthday.ShowPreference) value);
+            case "showAge" -> birthday.setShowAge((Boolean) value);
+            case "ownerId" -> birthday.setOwnerId((String) value);
+            case "updatedAt" -> birthday.setUpdatedAt((LocalDateTime) value);
+            // Derived by setName and setDate
+            case "normalizedName", "month", "day" -> { }
+            default -> throw new IllegalArgumentException("Unsupported update field: " + field);
+        }
+    }
+
+    private <T> T read(Supplier<T> action) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return action.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <T> T write(StoreAction<T> action) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            return action.run();
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Embedded store write failed: " + e.getMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface StoreAction<T> {
+        T run() throws IOException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.Friendship;
+import com.birthdayapp.repository.FriendStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Friendships for the embedded profile, held in memory and appended to friendships.log. The log has
+// no snapshot; when it has grown well past the live records it is rewritten on startup.
+@Component
+@Profile("embedded")
+@EnableConfigurationProperties(EmbeddedStorageProperties.class)
+public class EmbeddedFriendStore implements FriendStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedFriendStore.class);
+
+    @Autowired
+    private EmbeddedStorageProperties properties;
+
+    // userId -> friendId -> the friendship in that direction
+    private final Map<String, Map<String, Friendship>> byUser = new HashMap<>();
+
+    private MutationLog log;
+
+    @PostConstruct
+    public void open() {
+        Path path = Path.of(properties.getDirectory()).resolve("friendships.log");
+        try {
+            Files.createDirectories(path.getParent());
+            log = new MutationLog(path, properties.isSyncOnWrite());
+            int records = log.open(record -> {
+                if (record.getType() == RecordCodec.PUT) {
+                    apply(decode(record.getPayload()));
+                } else if (record.getType() == RecordCodec.DELETE) {
+                    String[] ids = new String(record.getPayload(), StandardCharsets.UTF_8).split("\\|", 2);
+                    forget(ids[0], ids[1]);
+                }
+            });
+            int live = byUser.values().stream().mapToInt(Map::size).sum();
+            if (records > 2 * live + properties.getCompactionMinRecords()) {
+                rewrite(path);
+            }
+            logger.info("Opened embedded friendships with {} friendships ({} log records)", live / 2, records);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open " + path.toAbsolutePath(), e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        try {
+            log.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close the friendships log: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized boolean add(String userId, String friendId) {
+        if (friendsOf(userId).containsKey(friendId) && friendsOf(friendId).containsKey(userId)) {
+            return false;
+        }
+        boolean friendFanOutOnRead = isFanOutOnRead(friendId);
+        boolean userFanOutOnRead = isFanOutOnRead(userId);
+        LocalDateTime now = LocalDateTime.now();
+        put(new Friendship(userId, friendId, friendFanOutOnRead, now));
+        put(new Friendship(friendId, userId, userFanOutOnRead, now));
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(String userId, String friendId) {
+        boolean removed = false;
+        for (String[] pair : new String[][] {{userId, friendId}, {friendId, userId}}) {
+            if (friendsOf(pair[0]).containsKey(pair[1])) {
+                append(RecordCodec.DELETE, Friendship.idOf(pair[0], pair[1]).getBytes(StandardCharsets.UTF_8));
+                forget(pair[0], pair[1]);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized List<String> findFriends(String userId) {
+        return new ArrayList<>(friendsOf(userId).keySet());
+    }
+
+    @Override
+    public synchronized long countFriends(String userId) {
+        return friendsOf(userId).size();
+    }
+
+    @Override
+    public synchronized boolean isFanOutOnRead(String userId) {
+        // Every friendship pointing at userId carries the same flag
+        return friendsOf(userId).keySet().stream()
+                .map(friendId -> friendsOf(friendId).get(userId))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .map(Friendship::isFanOutOnRead)
+                .orElse(false);
+    }
+
+    @Override
+    public synchronized List<String> findFanOutOnReadFriends(String userId) {
+        return friendsOf(userId).values().stream()
+                .filter(Friendship::isFanOutOnRead)
+                .map(Friendship::getFriendId)
+                .toList();
+    }
+
+    @Override
+    public synchronized void setFanOutOnRead(String friendId, boolean fanOutOnRead) {
+        for (String userId : findFriends(friendId)) {
+            Friendship current = friendsOf(userId).get(friendId);
+            if (current.isFanOutOnRead() != fanOutOnRead) {
+                put(new Friendship(userId, friendId, fanOutOnRead, current.getCreatedAt()));
+            }
+        }
+    }
+
+    private Map<String, Friendship> friendsOf(String userId) {
+        return byUser.getOrDefault(userId, Map.of());
+    }
+
+    private void put(Friendship friendship) {
+        append(RecordCodec.PUT, encode(friendship));
+        apply(friendship);
+    }
+
+    private void apply(Friendship friendship) {
+        byUser.computeIfAbsent(friendship.getUserId(), id -> new LinkedHashMap<>()).put(friendship.getFriendId(), friendship);
+    }
+
+    private void forget(String userId, String friendId) {
+        Map<String, Friendship> friends = byUser.get(userId);
+        if (friends != null) {
+            friends.remove(friendId);
+            if (friends.isEmpty()) {
+                byUser.remove(userId);
+            }
+        }
+    }
+
+    private void append(byte type, byte[] payload) {
+        try {
+            log.append(type, payload);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Embedded friendships write failed: " + e.getMessage(), e);
+        }
+    }
+
+    // Writes the live friendships to a new log and swaps it in, so a crash leaves either log intact
+    private void rewrite(Path path) throws IOException {
+        Path rewritten = path.resolveSibling(path.getFileName() + ".rewrite");
+        Files.deleteIfExists(rewritten);
+        try (MutationLog fresh = new MutationLog(rewritten, false)) {
+            fresh.open(record -> { });
+            for (Map<String, Friendship> friends : byUser.values()) {
+                for (Friendship friendship : friends.values()) {
+                    fresh.append(RecordCodec.PUT, encode(friendship));
+                }
+            }
+        }
+        log.close();
+        Files.move(rewritten, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log = new MutationLog(path, properties.isSyncOnWrite());
+        log.open(record -> { });
+    }
+
+    private static byte[] encode(Friendship friendship) {
+        try {
+            return BirthdayCodec.encodeFriendship(friendship);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Friendship decode(byte[] payload) {
+        try {
+            return BirthdayCodec.decodeFriendship(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
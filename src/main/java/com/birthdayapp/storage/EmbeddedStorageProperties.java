@@ -0,0 +1,40 @@
+package com.birthdayapp.storage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "birthday.storage.embedded")
+public class EmbeddedStorageProperties {
+
+    // Holds the snapshot and log files for birthdays and birthdays_archive
+    private String directory = "data";
+
+    // Forces each log append to disk before the write is acknowledged
+    private boolean syncOnWrite = true;
+
+    // Log length at which the scheduled compaction writes a new snapshot
+    private int compactionMinRecords = 1000;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+
+    public void setSyncOnWrite(boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    public int getCompactionMinRecords() {
+        return compactionMinRecords;
+    }
+
+    public void setCompactionMinRecords(int compactionMinRecords) {
+        this.compactionMinRecords = compactionMinRecords;
+    }
+}
\ No newline at end of file
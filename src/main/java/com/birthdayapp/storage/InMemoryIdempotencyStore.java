@@ -0,0 +1,50 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.IdempotencyRecord;
+import com.birthdayapp.repository.IdempotencyStore;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The embedded profile runs a single instance, so the records only need to outlive the retries of a
+// client, not a restart. Expired records are swept once a minute, like the TTL index does.
+@Component
+@Profile("embedded")
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+    @Override
+    public IdempotencyRecord find(String id, LocalDateTime now) {
+        IdempotencyRecord record = records.get(id);
+        return record != null && !record.isExpired(now) ? record : null;
+    }
+
+    @Override
+    public boolean claim(IdempotencyRecord pending, LocalDateTime now) {
+        IdempotencyRecord current = records.compute(pending.getId(),
+                (id, existing) -> existing == null || existing.isExpired(now) ? pending : existing);
+        return current == pending;
+    }
+
+    @Override
+    public void complete(IdempotencyRecord record) {
+        records.put(record.getId(), record);
+    }
+
+    @Override
+    public void release(String id) {
+        records.computeIfPresent(id, (key, existing) -> existing.isPending() ? null : existing);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void removeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        records.values().removeIf(record -> record.isExpired(now));
+    }
+}
\ No newline at end of file
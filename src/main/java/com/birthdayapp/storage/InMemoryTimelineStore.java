@@ -0,0 +1,133 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.TimelineEntry;
+import com.birthdayapp.repository.TimelineStore;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Timelines are derived from the friendships and birthdays, so the embedded profile keeps them in
+// memory and rebuilds them on startup
+@Component
+@Profile("embedded")
+public class InMemoryTimelineStore implements TimelineStore {
+
+    // userId -> birthday id -> entry
+    private final Map<String, Map<String, TimelineEntry>> byUser = new HashMap<>();
+
+    // birthday id -> users whose timelines hold a copy
+    private final Map<String, Set<String>> usersByBirthday = new HashMap<>();
+
+    @Override
+    public boolean isPersistent() {
+        return false;
+    }
+
+    @Override
+    public synchronized void replaceBirthday(String birthdayId, Collection<TimelineEntry> entries) {
+        Set<String> keep = entries.stream().map(TimelineEntry::getUserId).collect(Collectors.toSet());
+        for (String userId : List.copyOf(usersByBirthday.getOrDefault(birthdayId, Set.of()))) {
+            if (!keep.contains(userId)) {
+                remove(userId, birthdayId);
+            }
+        }
+        putAll(entries);
+    }
+
+    @Override
+    public synchronized void putAll(Collection<TimelineEntry> entries) {
+        for (TimelineEntry entry : entries) {
+            byUser.computeIfAbsent(entry.getUserId(), id -> new LinkedHashMap<>()).put(entry.getBirthdayId(), entry);
+            usersByBirthday.computeIfAbsent(entry.getBirthdayId(), id -> new HashSet<>()).add(entry.getUserId());
+        }
+    }
+
+    @Override
+    public synchronized void removeMatching(Collection<String> birthdayIds, Birthday.EventType eventType) {
+        List<TimelineEntry> matches = new ArrayList<>();
+        for (Map<String, TimelineEntry> timeline : byUser.values()) {
+            for (TimelineEntry entry : timeline.values()) {
+                if ((birthdayIds == null || birthdayIds.contains(entry.getBirthdayId()))
+                        && (eventType == null || eventType == entry.getBirthday().getEventType())) {
+                    matches.add(entry);
+                }
+            }
+        }
+        matches.forEach(entry -> remove(entry.getUserId(), entry.getBirthdayId()));
+    }
+
+    @Override
+    public synchronized void removeOwner(String userId, String ownerId) {
+        List<TimelineEntry> matches = new ArrayList<>();
+        Collection<Map<String, TimelineEntry>> timelines = userId != null
+                ? List.of(byUser.getOrDefault(userId, Map.of()))
+                : byUser.values();
+        for (Map<String, TimelineEntry> timeline : timelines) {
+            for (TimelineEntry entry : timeline.values()) {
+                if (ownerId.equals(entry.getOwnerId())) {
+                    matches.add(entry);
+                }
+            }
+        }
+        matches.forEach(entry -> remove(entry.getUserId(), entry.getBirthdayId()));
+    }
+
+    @Override
+    public synchronized List<TimelineEntry> findByUserUpTo(String userId, LocalDate last, int limit) {
+        return byUser.getOrDefault(userId, Map.of()).values().stream()
+                .filter(entry -> !entry.getNextOccurrence().isAfter(last))
+                .sorted(Comparator.comparing(TimelineEntry::getNextOccurrence).thenComparing(TimelineEntry::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    // Entries are replaced rather than changed in place, since readers hold on to the ones they were given
+    @Override
+    public synchronized void advance(Map<String, LocalDate> nextOccurrences, LocalDate today) {
+        nextOccurrences.forEach((id, nextOccurrence) -> {
+            // User ids cannot contain '|', so the first one ends the user id
+            int separator = id.indexOf('|');
+            String userId = id.substring(0, separator);
+            String birthdayId = id.substring(separator + 1);
+            TimelineEntry entry = byUser.getOrDefault(userId, Map.of()).get(birthdayId);
+            if (entry == null || !entry.getNextOccurrence().isBefore(today)) {
+                return;
+            }
+            if (nextOccurrence != null) {
+                byUser.get(userId).put(birthdayId, new TimelineEntry(entry, nextOccurrence));
+            } else {
+                remove(userId, birthdayId);
+            }
+        });
+    }
+
+    private void remove(String userId, String birthdayId) {
+        Map<String, TimelineEntry> timeline = byUser.get(userId);
+        if (timeline != null) {
+            timeline.remove(birthdayId);
+            if (timeline.isEmpty()) {
+                byUser.remove(userId);
+            }
+        }
+        Set<String> users = usersByBirthday.get(birthdayId);
+        if (users != null) {
+            users.remove(userId);
+            if (users.isEmpty()) {
+                usersByBirthday.remove(birthdayId);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.Birthday;
+import com.birthdayapp.model.UpcomingBirthday;
+import com.birthdayapp.repository.UpcomingStore;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// The view is derived data, so the embedded profile keeps it in memory and rebuilds it on startup.
+// Writers are serialized; readers walk the sorted set without locking. Removal markers live in byId
+// only, so they never show up in the sorted set.
+@Component
+@Profile("embedded")
+public class InMemoryUpcomingStore implements UpcomingStore {
+
+    private static final Comparator<UpcomingBirthday> BY_NEXT_OCCURRENCE =
+            Comparator.comparing(UpcomingBirthday::getNextOccurrence).thenComparing(UpcomingBirthday::getId);
+
+    private final Map<String, UpcomingBirthday> byId = new ConcurrentHashMap<>();
+
+    private final NavigableSet<UpcomingBirthday> byNextOccurrence = new ConcurrentSkipListSet<>(BY_NEXT_OCCURRENCE);
+
+    @Override
+    public synchronized void refresh(LocalDate builtFor, Collection<UpcomingBirthday> rows) {
+        for (UpcomingBirthday row : rows) {
+            if (isReplaceable(byId.get(row.getId()), builtFor, row.getVersion())) {
+                put(row);
+            }
+        }
+    }
+
+    private static boolean isReplaceable(UpcomingBirthday current, LocalDate builtFor, Long version) {
+        if (current == null || !builtFor.equals(current.getBuiltFor())) {
+            return true;
+        }
+        return version != null && current.getVersion() != null && current.getVersion() < version;
+    }
+
+    @Override
+    public synchronized void put(UpcomingBirthday row) {
+        replaceWith(row.getId(), row);
+    }
+
+    @Override
+    public synchronized void remove(String id, Long version, LocalDate builtFor) {
+        replaceWith(id, UpcomingBirthday.removed(id, version, builtFor));
+    }
+
+    @Override
+    public synchronized void removeMatching(Collection<String> ids, Birthday.EventType eventType, LocalDate builtFor) {
+        for (UpcomingBirthday row : new ArrayList<>(byId.values())) {
+            if (!row.isRemoved() && (ids == null || ids.contains(row.getId()))
+                    && (eventType == null || eventType == row.getBirthday().getEventType())) {
+                remove(row.getId(), null, builtFor);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void removeBuiltBefore(LocalDate builtFor) {
+        for (UpcomingBirthday row : new ArrayList<>(byId.values())) {
+            if (row.getBuiltFor().isBefore(builtFor)) {
+                replaceWith(row.getId(), null);
+            }
+        }
+    }
+
+    private void replaceWith(String id, UpcomingBirthday row) {
+        UpcomingBirthday previous = row != null ? byId.put(id, row) : byId.remove(id);
+        if (previous != null && !previous.isRemoved()) {
+            byNextOccurrence.remove(previous);
+        }
+        if (row != null && !row.isRemoved()) {
+            byNextOccurrence.add(row);
+        }
+    }
+
+    @Override
+    public List<UpcomingBirthday> findUpTo(LocalDate builtFor, LocalDate last) {
+        List<UpcomingBirthday> rows = new ArrayList<>();
+        for (UpcomingBirthday row : byNextOccurrence) {
+            if (row.getNextOccurrence().isAfter(last)) {
+                break;
+            }
+            if (builtFor.equals(row.getBuiltFor())) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
\ No newline at end of file
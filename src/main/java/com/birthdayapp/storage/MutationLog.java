@@ -0,0 +1,114 @@
+package com.birthdayapp.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// Append-only log of PUT/DELETE records. Only the valid prefix is replayed; a torn or corrupt tail
+// left by a crash mid-append is truncated so new records follow the last good one.
+final class MutationLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MutationLog.class);
+
+    private final Path path;
+    private final boolean syncOnAppend;
+    private FileChannel channel;
+    private int records;
+
+    MutationLog(Path path, boolean syncOnAppend) {
+        this.path = path;
+        this.syncOnAppend = syncOnAppend;
+    }
+
+    // Replays a log that is no longer appended to, such as one left behind by an interrupted compaction
+    static int replay(Path path, Consumer<RecordCodec.Record> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int[] replayed = new int[1];
+            scan(readChannel, record -> {
+                consumer.accept(record);
+                replayed[0]++;
+            });
+            return replayed[0];
+        }
+    }
+
+    // Replays the log into the consumer and opens it for appending after the last valid record
+    int open(Consumer<RecordCodec.Record> consumer) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        records = 0;
+        long validEnd = scan(channel, record -> {
+            consumer.accept(record);
+            records++;
+        });
+
+        long size = channel.size();
+        if (validEnd < size) {
+            logger.warn("Truncating {} partial or corrupt trailing bytes of {} after record {}", size - validEnd, path, records);
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd);
+        return records;
+    }
+
+    void append(byte type, byte[] payload) throws IOException {
+        ByteBuffer buffer = RecordCodec.encode(type, payload);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (syncOnAppend) {
+            channel.force(false);
+        }
+        records++;
+    }
+
+    // Moves the current log aside and starts an empty one; the caller snapshots, then deletes the old log
+    void rotateTo(Path rotated) throws IOException {
+        channel.force(true);
+        channel.close();
+        Files.move(path, rotated, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        records = 0;
+    }
+
+    int getRecords() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    // Feeds every intact record to the consumer and returns the offset just past the last one
+    private static long scan(FileChannel source, Consumer<RecordCodec.Record> consumer) throws IOException {
+        long size = source.size();
+        if (size == 0) {
+            return 0;
+        }
+
+        MappedByteBuffer buffer = source.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        RecordCodec.Record record;
+        while ((record = RecordCodec.decode(buffer)) != null) {
+            consumer.accept(record);
+        }
+        return buffer.position();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.birthdayapp.storage;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+// Frames records as [length][crc32c][type][payload]; length and checksum cover type and payload
+final class RecordCodec {
+
+    // Payload is the encoded birthday
+    static final byte PUT = 1;
+    // Payload is the encoded tombstone of the removed birthday
+    static final byte DELETE = 2;
+    // Payload describes the records that follow, e.g. a working set snapshot's header
+    static final byte META = 3;
+
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private RecordCodec() {}
+
+    static ByteBuffer encode(byte type, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 1 + payload.length);
+        buffer.putInt(1 + payload.length);
+        buffer.putInt(checksum(type, payload));
+        buffer.put(type);
+        buffer.put(payload);
+        return buffer.flip();
+    }
+
+    // Returns null and leaves the position untouched when the next record is truncated or fails its checksum
+    static Record decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES + 1) {
+            return null;
+        }
+
+        int length = buffer.getInt();
+        int crc = buffer.getInt();
+        if (length < 1 || length > MAX_RECORD_BYTES || length > buffer.remaining()) {
+            buffer.position(start);
+            return null;
+        }
+
+        byte type = buffer.get();
+        byte[] payload = new byte[length - 1];
+        buffer.get(payload);
+        if (checksum(type, payload) != crc || (type != PUT && type != DELETE && type != META)) {
+            buffer.position(start);
+            return null;
+        }
+
+        return new Record(type, payload);
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    static final class Record {
+
+        private final byte type;
+        private final byte[] payload;
+
+        Record(byte type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+
+        byte getType() {
+            return type;
+        }
+
+        byte[] getPayload() {
+            return payload;
+        }
+    }
+}
\ No newline at end of file
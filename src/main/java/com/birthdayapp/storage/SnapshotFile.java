@@ -0,0 +1,75 @@
+package com.birthdayapp.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+// Compacted image of a table: a header with the record count followed by one PUT record per birthday
+// and one DELETE record per retained tombstone.
+// Snapshots are written to a temporary file and atomically renamed, so a reader never sees a partial one.
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x42444159;
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Integer.BYTES;
+
+    private SnapshotFile() {}
+
+    static void write(Path path, Collection<RecordCodec.Record> records) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putShort(FORMAT_VERSION)
+                    .putInt(records.size());
+            out.write(header.array());
+            for (RecordCodec.Record record : records) {
+                out.write(RecordCodec.encode(record.getType(), record.getPayload()).array());
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Maps the snapshot read-only and feeds each record to the consumer; returns the number read
+    static int read(Path path, Consumer<RecordCodec.Record> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a birthday snapshot: " + path);
+            }
+
+            short version = buffer.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + path);
+            }
+
+            int expected = buffer.getInt();
+            for (int i = 0; i < expected; i++) {
+                RecordCodec.Record record = RecordCodec.decode(buffer);
+                if (record == null) {
+                    throw new IOException("Snapshot " + path + " is corrupt at record " + i + " of " + expected);
+                }
+                consumer.accept(record);
+            }
+            return expected;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.birthdayapp.storage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "birthday.working-set")
+public class WorkingSetProperties {
+
+    // Off under the embedded profile, whose store already lives in memory
+    private boolean enabled = true;
+
+    // Where working-set.snap is kept; must be local to the instance
+    private String directory = "data";
+
+    // How often changes made elsewhere are pulled in
+    private long refreshIntervalMs = 30_000;
+
+    // How often the snapshot is rewritten when something changed; it is also written on shutdown
+    private long snapshotIntervalMs = 300_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    public void setRefreshIntervalMs(long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    public long getSnapshotIntervalMs() {
+        return snapshotIntervalMs;
+    }
+
+    public void setSnapshotIntervalMs(long snapshotIntervalMs) {
+        this.snapshotIntervalMs = snapshotIntervalMs;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.birthdayapp.storage;
+
+import com.birthdayapp.model.Birthday;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Image of the working set: magic and version, a META record with the schema fingerprint, catch-up
+// positions and record count, then one PUT record per birthday in BirthdayBinaryCodec form.
+// Written to a temporary file and atomically renamed, like SnapshotFile.
+final class WorkingSetSnapshot {
+
+    private static final int MAGIC = 0x42445753;
+    private static final short FORMAT_VERSION = 1;
+
+    private final LocalDateTime updatedThrough;
+    private final LocalDateTime deletedThrough;
+    private final List<Birthday> birthdays;
+
+    WorkingSetSnapshot(LocalDateTime updatedThrough, LocalDateTime deletedThrough, List<Birthday> birthdays) {
+        this.updatedThrough = updatedThrough;
+        this.deletedThrough = deletedThrough;
+        this.birthdays = birthdays;
+    }
+
+    LocalDateTime getUpdatedThrough() {
+        return updatedThrough;
+    }
+
+    LocalDateTime getDeletedThrough() {
+        return deletedThrough;
+    }
+
+    List<Birthday> getBirthdays() {
+        return birthdays;
+    }
+
+    static void write(Path path, LocalDateTime updatedThrough, LocalDateTime deletedThrough,
+            Collection<Birthday> birthdays) throws IOException {
+        ByteArrayOutputStream meta = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(meta)) {
+            out.writeLong(BirthdayBinaryCodec.SCHEMA);
+            BirthdayBinaryCodec.writeDateTime(out, updatedThrough);
+            BirthdayBinaryCodec.writeDateTime(out, deletedThrough);
+            out.writeInt(birthdays.size());
+        }
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            out.write(ByteBuffer.allocate(Integer.BYTES + Short.BYTES).putInt(MAGIC).putShort(FORMAT_VERSION).array());
+            out.write(RecordCodec.encode(RecordCodec.META, meta.toByteArray()).array());
+            for (Birthday birthday : birthdays) {
+                out.write(RecordCodec.encode(RecordCodec.PUT, BirthdayBinaryCodec.encode(birthday)).array());
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Maps the snapshot read-only; returns null when there is none
+    static WorkingSetSnapshot read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a working set snapshot: " + path);
+            }
+            short version = buffer.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported working set snapshot version " + version + " in " + path);
+            }
+
+            RecordCodec.Record header = RecordCodec.decode(buffer);
+            if (header == null || header.getType() != RecordCodec.META) {
+                throw new IOException("Working set snapshot " + path + " has a corrupt header");
+            }
+            ByteBuffer meta = ByteBuffer.wrap(header.getPayload());
+            if (meta.getLong() != BirthdayBinaryCodec.SCHEMA) {
+                throw new IOException("Working set snapshot " + path + " was written with different enum constants");
+            }
+            LocalDateTime updatedThrough = BirthdayBinaryCodec.readDateTime(meta);
+            LocalDateTime deletedThrough = BirthdayBinaryCodec.readDateTime(meta);
+            int expected = meta.getInt();
+
+            List<Birthday> birthdays = new ArrayList<>(expected);
+            for (int i = 0; i < expected; i++) {
+                RecordCodec.Record record = RecordCodec.decode(buffer);
+                if (record == null || record.getType() != RecordCodec.PUT) {
+                    throw new IOException("Working set snapshot " + path + " is corrupt at record " + i + " of " + expected);
+                }
+                birthdays.add(BirthdayBinaryCodec.decode(record.getPayload()));
+            }
+            return new WorkingSetSnapshot(updatedThrough, deletedThrough, birthdays);
+        }
+    }
+}
\ No newline at end of file
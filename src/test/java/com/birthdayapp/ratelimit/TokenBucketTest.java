@@ -0,0 +1,96 @@
+package com.birthdayapp.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long MILLIS = 1_000_000L;
+    private static final long NOW = 5_000 * MILLIS;
+
+    // Three back to back, then one every 100 ms
+    private final TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(3, 10));
+
+    @Test
+    void fullBucketAllowsABurstOfCapacity() {
+        assertThat(bucket.tryConsume(NOW).getRemaining()).isEqualTo(2);
+        assertThat(bucket.tryConsume(NOW).getRemaining()).isEqualTo(1);
+        assertThat(bucket.tryConsume(NOW).getRemaining()).isZero();
+
+        RateLimitDecision rejected = bucket.tryConsume(NOW);
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getLimit()).isEqualTo(3);
+        assertThat(rejected.getRetryAfterNanos()).isEqualTo(100 * MILLIS);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        drain(NOW);
+
+        assertThat(bucket.tryConsume(NOW + 99 * MILLIS).isAllowed()).isFalse();
+        assertThat(bucket.tryConsume(NOW + 100 * MILLIS).isAllowed()).isTrue();
+        assertThat(bucket.tryConsume(NOW + 100 * MILLIS).isAllowed()).isFalse();
+    }
+
+    @Test
+    void rejectedRequestsDoNotTakeTokens() {
+        drain(NOW);
+        for (int i = 0; i < 10; i++) {
+            bucket.tryConsume(NOW);
+        }
+
+        assertThat(bucket.tryConsume(NOW + 100 * MILLIS).isAllowed()).isTrue();
+    }
+
+    @Test
+    void isFullOnceEveryTokenIsBack() {
+        assertThat(bucket.isFull(NOW)).isTrue();
+
+        drain(NOW);
+
+        assertThat(bucket.isFull(NOW + 299 * MILLIS)).isFalse();
+        assertThat(bucket.isFull(NOW + 300 * MILLIS)).isTrue();
+        assertThat(bucket.tryConsume(NOW + 300 * MILLIS).getRemaining()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedCapacity() throws Exception {
+        TokenBucket shared = new TokenBucket(new RateLimitProperties.Limit(100, 1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> workers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                workers.add(() -> {
+                    int allowed = 0;
+                    for (int j = 0; j < 1000; j++) {
+                        if (shared.tryConsume(NOW).isAllowed()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                });
+            }
+            int allowed = 0;
+            for (Future<Integer> worker : executor.invokeAll(workers)) {
+                allowed += worker.get();
+            }
+            assertThat(allowed).isEqualTo(100);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void drain(long nowNanos) {
+        while (bucket.tryConsume(nowNanos).isAllowed()) {
+            // take every token
+        }
+    }
+}
\ No newline at end of file
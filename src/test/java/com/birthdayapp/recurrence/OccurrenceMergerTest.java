@@ -0,0 +1,77 @@
+package com.birthdayapp.recurrence;
+
+import com.birthdayapp.model.Birthday;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OccurrenceMergerTest {
+
+    @Test
+    void mergesEntriesIntoDateOrder() {
+        Birthday weekly = birthday("Weekly", LocalDate.of(2024, 1, 1), Birthday.RepeatType.WEEKLY);
+        Birthday monthly = birthday("Monthly", LocalDate.of(2023, 12, 10), Birthday.RepeatType.MONTHLY);
+        Birthday yearly = birthday("Yearly", LocalDate.of(1990, 1, 20), Birthday.RepeatType.YEARLY);
+
+        List<String> merged = drain(new OccurrenceMerger(List.of(yearly, monthly, weekly),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+
+        assertThat(merged).containsExactly(
+                "2024-01-01 Weekly",
+                "2024-01-08 Weekly",
+                "2024-01-10 Monthly",
+                "2024-01-15 Weekly",
+                "2024-01-20 Yearly",
+                "2024-01-22 Weekly",
+                "2024-01-29 Weekly");
+    }
+
+    @Test
+    void sameDayOccurrencesAreOrderedByName() {
+        LocalDate date = LocalDate.of(2000, 3, 5);
+
+        List<String> merged = drain(new OccurrenceMerger(List.of(
+                        birthday("carol", date, Birthday.RepeatType.YEARLY),
+                        birthday("Alice", date, Birthday.RepeatType.YEARLY),
+                        birthday("bob", date, Birthday.RepeatType.YEARLY)),
+                LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 5)));
+
+        assertThat(merged).containsExactly("2024-03-05 Alice", "2024-03-05 bob", "2024-03-05 carol");
+    }
+
+    @Test
+    void rangeIsInclusiveAndSkipsEntriesWithoutOccurrences() {
+        Birthday oneOff = birthday("Past", LocalDate.of(2023, 6, 1), Birthday.RepeatType.NEVER);
+        Birthday undated = birthday("Undated", null, Birthday.RepeatType.YEARLY);
+        Birthday leapDay = birthday("Leap", LocalDate.of(2000, 2, 29), Birthday.RepeatType.YEARLY);
+
+        OccurrenceMerger merger = new OccurrenceMerger(List.of(oneOff, undated, leapDay),
+                LocalDate.of(2025, 2, 28), LocalDate.of(2026, 2, 28));
+
+        assertThat(drain(merger)).containsExactly("2025-02-28 Leap", "2026-02-28 Leap");
+        assertThatThrownBy(merger::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static List<String> drain(OccurrenceMerger merger) {
+        List<String> occurrences = new ArrayList<>();
+        while (merger.hasNext()) {
+            Occurrence occurrence = merger.next();
+            occurrences.add(occurrence.getDate() + " " + occurrence.getBirthday().getName());
+        }
+        return occurrences;
+    }
+
+    private static Birthday birthday(String name, LocalDate date, Birthday.RepeatType repeatType) {
+        Birthday birthday = new Birthday();
+        birthday.setName(name);
+        birthday.setDate(date);
+        birthday.setRepeatType(repeatType);
+        return birthday;
+    }
+}
\ No newline at end of file
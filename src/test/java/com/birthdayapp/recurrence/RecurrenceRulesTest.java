@@ -0,0 +1,84 @@
+package com.birthdayapp.recurrence;
+
+import com.birthdayapp.model.Birthday;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceRulesTest {
+
+    private static final LocalDate LEAP_DAY = LocalDate.of(2000, 2, 29);
+
+    @Test
+    void yearlyLeapDayFallsOnFeb28InCommonYears() {
+        assertThat(RecurrenceRules.occurrence(LEAP_DAY, Birthday.RepeatType.YEARLY, 1)).isEqualTo(LocalDate.of(2001, 2, 28));
+        assertThat(RecurrenceRules.occurrence(LEAP_DAY, Birthday.RepeatType.YEARLY, 4)).isEqualTo(LocalDate.of(2004, 2, 29));
+    }
+
+    @Test
+    void nextYearlyLeapDayOccurrence() {
+        assertThat(RecurrenceRules.nextOccurrence(LEAP_DAY, Birthday.RepeatType.YEARLY, LocalDate.of(2025, 2, 28)))
+                .isEqualTo(LocalDate.of(2025, 2, 28));
+        assertThat(RecurrenceRules.nextOccurrence(LEAP_DAY, Birthday.RepeatType.YEARLY, LocalDate.of(2025, 3, 1)))
+                .isEqualTo(LocalDate.of(2026, 2, 28));
+        assertThat(RecurrenceRules.nextOccurrence(LEAP_DAY, Birthday.RepeatType.YEARLY, LocalDate.of(2027, 12, 1)))
+                .isEqualTo(LocalDate.of(2028, 2, 29));
+    }
+
+    @Test
+    void monthlyClampsToMonthEndWithoutDrifting() {
+        LocalDate start = LocalDate.of(2023, 1, 31);
+
+        assertThat(RecurrenceRules.occurrence(start, Birthday.RepeatType.MONTHLY, 1)).isEqualTo(LocalDate.of(2023, 2, 28));
+        assertThat(RecurrenceRules.occurrence(start, Birthday.RepeatType.MONTHLY, 2)).isEqualTo(LocalDate.of(2023, 3, 31));
+        assertThat(RecurrenceRules.occurrence(start, Birthday.RepeatType.MONTHLY, 3)).isEqualTo(LocalDate.of(2023, 4, 30));
+        assertThat(RecurrenceRules.occurrence(start, Birthday.RepeatType.MONTHLY, 13)).isEqualTo(LocalDate.of(2024, 2, 29));
+    }
+
+    @Test
+    void nextMonthlyOccurrenceAfterAClampedMonth() {
+        LocalDate start = LocalDate.of(2023, 1, 31);
+
+        assertThat(RecurrenceRules.nextOccurrence(start, Birthday.RepeatType.MONTHLY, LocalDate.of(2023, 2, 15)))
+                .isEqualTo(LocalDate.of(2023, 2, 28));
+        assertThat(RecurrenceRules.nextOccurrence(start, Birthday.RepeatType.MONTHLY, LocalDate.of(2023, 3, 1)))
+                .isEqualTo(LocalDate.of(2023, 3, 31));
+    }
+
+    @Test
+    void weeklyStepsWholeWeeks() {
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+
+        assertThat(RecurrenceRules.nextOccurrence(monday, Birthday.RepeatType.WEEKLY, LocalDate.of(2024, 1, 10)))
+                .isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(RecurrenceRules.nextOccurrence(monday, Birthday.RepeatType.WEEKLY, LocalDate.of(2024, 1, 15)))
+                .isEqualTo(LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    void neverOccursOnlyOnItsDate() {
+        LocalDate date = LocalDate.of(2024, 5, 10);
+
+        assertThat(RecurrenceRules.nextOccurrence(date, Birthday.RepeatType.NEVER, LocalDate.of(2024, 1, 1))).isEqualTo(date);
+        assertThat(RecurrenceRules.nextOccurrence(date, Birthday.RepeatType.NEVER, date)).isEqualTo(date);
+        assertThat(RecurrenceRules.nextOccurrence(date, Birthday.RepeatType.NEVER, date.plusDays(1))).isNull();
+    }
+
+    @Test
+    void missingRepeatTypeIsYearly() {
+        LocalDate date = LocalDate.of(1990, 7, 4);
+
+        assertThat(RecurrenceRules.nextOccurrence(date, null, LocalDate.of(2024, 7, 5))).isEqualTo(LocalDate.of(2025, 7, 4));
+    }
+
+    @Test
+    void occurrencesBeforeTheStartAreNotGenerated() {
+        LocalDate date = LocalDate.of(2024, 5, 10);
+
+        assertThat(RecurrenceRules.occurrence(date, Birthday.RepeatType.YEARLY, -1)).isNull();
+        assertThat(RecurrenceRules.nextOccurrence(date, Birthday.RepeatType.YEARLY, LocalDate.of(2000, 1, 1))).isEqualTo(date);
+        assertThat(RecurrenceRules.nextOccurrence(null, Birthday.RepeatType.YEARLY, date)).isNull();
+    }
+}
\ No newline at end of file
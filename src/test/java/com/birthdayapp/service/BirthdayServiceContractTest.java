@@ -0,0 +1,158 @@
+package com.birthdayapp.service;
+
+import com.birthdayapp.dto.BirthdayResponse;
+import com.birthdayapp.dto.BulkDeleteRequest;
+import com.birthdayapp.dto.ChangeSetResponse;
+import com.birthdayapp.dto.CreateBirthdayRequest;
+import com.birthdayapp.dto.UpdateBirthdayRequest;
+import com.birthdayapp.exception.BirthdayNotFoundException;
+import com.birthdayapp.exception.VersionConflictException;
+import com.birthdayapp.model.Birthday;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Behaviour every BirthdayStore has to give the service; one subclass per store. The stores are not
+// emptied between tests, so each test works on names of its own.
+abstract class BirthdayServiceContractTest {
+
+    private static final String MISSING_ID = "000000000000000000000000";
+
+    @Autowired
+    private BirthdayService birthdayService;
+
+    @Test
+    void createdEntryCanBeFetchedById() {
+        BirthdayResponse created = create("Ada", LocalDate.of(1990, 2, 28), Birthday.RepeatType.YEARLY);
+
+        BirthdayResponse fetched = birthdayService.getBirthdayById(created.getId());
+
+        assertThat(fetched.getName()).isEqualTo(created.getName());
+        assertThat(fetched.getDate()).isEqualTo(LocalDate.of(1990, 2, 28));
+        assertThat(fetched.getRepeatType()).isEqualTo(Birthday.RepeatType.YEARLY);
+        assertThat(fetched.getVersion()).isEqualTo(created.getVersion());
+    }
+
+    @Test
+    void sameNameAndDateIsRejectedWhateverTheCaseAndSpacing() {
+        BirthdayResponse created = create("Grace", LocalDate.of(1985, 12, 9), Birthday.RepeatType.YEARLY);
+
+        assertThatThrownBy(() -> birthdayService.createBirthday(request(
+                "  " + created.getName().toUpperCase() + " ", created.getDate(), Birthday.RepeatType.YEARLY)))
+                .isInstanceOf(DuplicateKeyException.class)
+                .hasMessageContaining(Birthday.NAME_DATE_INDEX);
+        assertThat(birthdayService.getBirthdayById(created.getId()).getName()).isEqualTo(created.getName());
+    }
+
+    @Test
+    void patchChecksTheExpectedVersion() {
+        BirthdayResponse created = create("Linus", LocalDate.of(1969, 12, 28), Birthday.RepeatType.YEARLY);
+        UpdateBirthdayRequest patch = new UpdateBirthdayRequest();
+        patch.setReminderType(Birthday.ReminderType.ONE_WEEK_BEFORE);
+
+        BirthdayResponse patched = birthdayService.patchBirthday(created.getId(), patch, created.getVersion());
+
+        assertThat(patched.getReminderType()).isEqualTo(Birthday.ReminderType.ONE_WEEK_BEFORE);
+        assertThat(patched.getName()).isEqualTo(created.getName());
+        assertThat(patched.getVersion()).isGreaterThan(created.getVersion());
+        assertThatThrownBy(() -> birthdayService.patchBirthday(created.getId(), patch, created.getVersion()))
+                .isInstanceOf(VersionConflictException.class);
+        assertThatThrownBy(() -> birthdayService.patchBirthday(MISSING_ID, patch, null))
+                .isInstanceOf(BirthdayNotFoundException.class);
+    }
+
+    @Test
+    void deletedEntryIsGone() {
+        BirthdayResponse created = create("Barbara", LocalDate.of(1939, 11, 16), Birthday.RepeatType.YEARLY);
+
+        birthdayService.deleteBirthday(created.getId());
+
+        assertThatThrownBy(() -> birthdayService.getBirthdayById(created.getId()))
+                .isInstanceOf(BirthdayNotFoundException.class);
+        assertThatThrownBy(() -> birthdayService.deleteBirthday(created.getId()))
+                .isInstanceOf(BirthdayNotFoundException.class);
+    }
+
+    @Test
+    void bulkDeleteRemovesOnlyTheGivenIds() {
+        BirthdayResponse first = create("Edsger", LocalDate.of(1930, 5, 11), Birthday.RepeatType.YEARLY);
+        BirthdayResponse second = create("Tony", LocalDate.of(1934, 1, 11), Birthday.RepeatType.YEARLY);
+        BirthdayResponse kept = create("Niklaus", LocalDate.of(1934, 2, 15), Birthday.RepeatType.YEARLY);
+
+        long deleted = birthdayService.deleteBirthdays(
+                new BulkDeleteRequest(List.of(first.getId(), second.getId(), MISSING_ID), null, null));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(birthdayService.getBirthdaysByIds(List.of(kept.getId(), first.getId(), second.getId())))
+                .extracting(BirthdayResponse::getId)
+                .containsExactly(kept.getId());
+    }
+
+    @Test
+    void lookupByIdsFollowsTheRequestedOrder() {
+        BirthdayResponse first = create("Alan", LocalDate.of(1912, 6, 23), Birthday.RepeatType.YEARLY);
+        BirthdayResponse second = create("Margaret", LocalDate.of(1936, 8, 17), Birthday.RepeatType.YEARLY);
+
+        List<BirthdayResponse> found = birthdayService.getBirthdaysByIds(
+                List.of(second.getId(), MISSING_ID, first.getId(), second.getId()));
+
+        assertThat(found).extracting(BirthdayResponse::getId).containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    void deltaSyncReportsChangesAndDeletesAfterTheToken() {
+        BirthdayResponse changed = create("Donald", LocalDate.of(1938, 1, 10), Birthday.RepeatType.YEARLY);
+        BirthdayResponse removed = create("Frances", LocalDate.of(1932, 8, 4), Birthday.RepeatType.YEARLY);
+
+        List<String> changedIds = new ArrayList<>();
+        String since = sync(null, changedIds, new ArrayList<>());
+        assertThat(changedIds).contains(changed.getId(), removed.getId());
+
+        birthdayService.deleteBirthday(removed.getId());
+        List<String> deletedIds = new ArrayList<>();
+        sync(since, new ArrayList<>(), deletedIds);
+
+        assertThat(deletedIds).contains(removed.getId()).doesNotContain(changed.getId());
+    }
+
+    @Test
+    void monthlyEntryOnThe31stIsNextDueOnTheLastDayOfShorterMonths() {
+        LocalDate start = LocalDate.of(2020, 1, 31);
+        BirthdayResponse monthly = create("Monthly", start, Birthday.RepeatType.MONTHLY);
+
+        BirthdayResponse fetched = birthdayService.getBirthdayById(monthly.getId());
+
+        LocalDate next = LocalDate.now().plusDays(fetched.getDaysUntilNext());
+        assertThat(fetched.getDaysUntilNext()).isBetween(0, 31);
+        assertThat(next.getDayOfMonth()).isEqualTo(Math.min(31, next.lengthOfMonth()));
+    }
+
+    // Pages through the delta sync from since and returns the token to resume from
+    private String sync(String since, List<String> changedIds, List<String> deletedIds) {
+        ChangeSetResponse page;
+        do {
+            page = birthdayService.getChangesSince(since, 1000);
+            page.getChanged().forEach(birthday -> changedIds.add(birthday.getId()));
+            deletedIds.addAll(page.getDeleted());
+            since = page.getNextSince();
+        } while (page.isHasMore());
+        return since;
+    }
+
+    private BirthdayResponse create(String name, LocalDate date, Birthday.RepeatType repeatType) {
+        return birthdayService.createBirthday(request(name + " " + UUID.randomUUID(), date, repeatType));
+    }
+
+    private static CreateBirthdayRequest request(String name, LocalDate date, Birthday.RepeatType repeatType) {
+        return new CreateBirthdayRequest(name, date, Birthday.ReminderType.NONE, repeatType,
+                Birthday.EventType.BIRTHDAY, Birthday.ShowPreference.PRIVATE, true);
+    }
+}
\ No newline at end of file
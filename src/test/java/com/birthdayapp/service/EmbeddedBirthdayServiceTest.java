@@ -0,0 +1,20 @@
+package com.birthdayapp.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class EmbeddedBirthdayServiceTest extends BirthdayServiceContractTest {
+
+    @DynamicPropertySource
+    static void storageDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("birthday-store").toString();
+        registry.add("birthday.storage.embedded.directory", () -> directory);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.birthdayapp.service;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+// Runs against the MongoDB on localhost:27017 when there is one, in a database of its own
+@SpringBootTest(properties = {
+        "spring.data.mongodb.uri=mongodb://localhost:27017/birthdayapp_test",
+        "spring.data.mongodb.database=birthdayapp_test"
+})
+@EnabledIf("mongoReachable")
+class MongoBirthdayServiceTest extends BirthdayServiceContractTest {
+
+    static boolean mongoReachable() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", 27017), 500);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
\ No newline at end of file
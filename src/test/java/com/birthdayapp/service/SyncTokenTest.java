@@ -0,0 +1,75 @@
+package com.birthdayapp.service;
+
+import com.birthdayapp.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncTokenTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 2, 29, 13, 45, 7, 123_456_789);
+
+    @Test
+    void roundTripsBothPositions() {
+        SyncToken token = new SyncToken(
+                new SyncToken.Position(TIME, "65f1c0ffee"),
+                new SyncToken.Position(TIME.minusDays(1), "65f1deadbeef"));
+
+        SyncToken decoded = SyncToken.decode(token.encode());
+
+        assertThat(decoded.getUpdated().getTime()).isEqualTo(TIME);
+        assertThat(decoded.getUpdated().getId()).isEqualTo("65f1c0ffee");
+        assertThat(decoded.getDeleted().getTime()).isEqualTo(TIME.minusDays(1));
+        assertThat(decoded.getDeleted().getId()).isEqualTo("65f1deadbeef");
+    }
+
+    @Test
+    void roundTripsStartAndPositionsWithoutId() {
+        SyncToken token = new SyncToken(SyncToken.Position.START, new SyncToken.Position(TIME, null));
+
+        SyncToken decoded = SyncToken.decode(token.encode());
+
+        assertThat(decoded.getUpdated().getTime()).isNull();
+        assertThat(decoded.getUpdated().getId()).isNull();
+        assertThat(decoded.getDeleted().getTime()).isEqualTo(TIME);
+        assertThat(decoded.getDeleted().getId()).isNull();
+    }
+
+    @Test
+    void encodesUrlSafely() {
+        String encoded = new SyncToken(new SyncToken.Position(TIME, "a?b/c+d"), SyncToken.Position.START).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(SyncToken.decode(encoded).getUpdated().getId()).isEqualTo("a?b/c+d");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> SyncToken.decode("not base64!")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> SyncToken.decode(encode("1|x"))).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> SyncToken.decode(encode("2||||"))).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> SyncToken.decode(encode("1|yesterday|a||"))).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void positionsOrderByTimeThenId() {
+        SyncToken.Position first = new SyncToken.Position(TIME, "a");
+        SyncToken.Position second = new SyncToken.Position(TIME, "b");
+        SyncToken.Position timeOnly = new SyncToken.Position(TIME, null);
+
+        assertThat(second.isAfter(first)).isTrue();
+        assertThat(first.isAfter(second)).isFalse();
+        assertThat(first.isAfter(timeOnly)).isTrue();
+        assertThat(timeOnly.isAfter(SyncToken.Position.START)).isTrue();
+        assertThat(new SyncToken.Position(TIME.plusNanos(1), "a").isAfter(second)).isTrue();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.birthdayapp.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MutationLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysWhatWasAppended() throws IOException {
+        Path path = directory.resolve("birthdays.log");
+        write(path, "one", "two", "three");
+
+        List<String> replayed = new ArrayList<>();
+        try (MutationLog log = new MutationLog(path, false)) {
+            assertThat(log.open(record -> replayed.add(text(record)))).isEqualTo(3);
+            assertThat(log.getRecords()).isEqualTo(3);
+        }
+
+        assertThat(replayed).containsExactly("one", "two", "three");
+    }
+
+    @Test
+    void tornTailIsTruncatedAndAppendsFollowTheLastGoodRecord() throws IOException {
+        Path path = directory.resolve("birthdays.log");
+        write(path, "one", "two");
+        long validSize = Files.size(path);
+        ByteBuffer torn = RecordCodec.encode(RecordCodec.PUT, "torn".getBytes(StandardCharsets.UTF_8));
+        appendRaw(path, torn.limit(torn.limit() - 3));
+
+        try (MutationLog log = new MutationLog(path, false)) {
+            assertThat(log.open(record -> { })).isEqualTo(2);
+            assertThat(Files.size(path)).isEqualTo(validSize);
+            log.append(RecordCodec.PUT, "three".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(replay(path)).containsExactly("one", "two", "three");
+    }
+
+    @Test
+    void corruptTailIsTruncated() throws IOException {
+        Path path = directory.resolve("birthdays.log");
+        write(path, "one", "two");
+        long validSize = Files.size(path);
+        ByteBuffer corrupt = RecordCodec.encode(RecordCodec.PUT, "corrupt".getBytes(StandardCharsets.UTF_8));
+        corrupt.put(RecordCodec.HEADER_BYTES + 2, (byte) 'X');
+        appendRaw(path, corrupt);
+
+        try (MutationLog log = new MutationLog(path, false)) {
+            assertThat(log.open(record -> { })).isEqualTo(2);
+        }
+
+        assertThat(Files.size(path)).isEqualTo(validSize);
+        assertThat(replay(path)).containsExactly("one", "two");
+    }
+
+    @Test
+    void rotateStartsAnEmptyLog() throws IOException {
+        Path path = directory.resolve("birthdays.log");
+        Path rotated = directory.resolve("birthdays.log.old");
+
+        try (MutationLog log = new MutationLog(path, true)) {
+            log.open(record -> { });
+            log.append(RecordCodec.PUT, "before".getBytes(StandardCharsets.UTF_8));
+            log.rotateTo(rotated);
+            assertThat(log.getRecords()).isZero();
+            log.append(RecordCodec.PUT, "after".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(replay(rotated)).containsExactly("before");
+        assertThat(replay(path)).containsExactly("after");
+    }
+
+    @Test
+    void replayOfMissingLogIsEmpty() throws IOException {
+        assertThat(MutationLog.replay(directory.resolve("missing.log"), record -> { })).isZero();
+    }
+
+    private static void write(Path path, String... payloads) throws IOException {
+        try (MutationLog log = new MutationLog(path, false)) {
+            log.open(record -> { });
+            for (String payload : payloads) {
+                log.append(RecordCodec.PUT, payload.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void appendRaw(Path path, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+
+    private static List<String> replay(Path path) throws IOException {
+        List<String> replayed = new ArrayList<>();
+        MutationLog.replay(path, record -> replayed.add(text(record)));
+        return replayed;
+    }
+
+    private static String text(RecordCodec.Record record) {
+        return new String(record.getPayload(), StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.birthdayapp.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordCodecTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        ByteBuffer buffer = concat(
+                RecordCodec.encode(RecordCodec.PUT, bytes("first")),
+                RecordCodec.encode(RecordCodec.DELETE, new byte[0]),
+                RecordCodec.encode(RecordCodec.META, bytes("third")));
+
+        RecordCodec.Record first = RecordCodec.decode(buffer);
+        RecordCodec.Record second = RecordCodec.decode(buffer);
+        RecordCodec.Record third = RecordCodec.decode(buffer);
+
+        assertThat(first.getType()).isEqualTo(RecordCodec.PUT);
+        assertThat(first.getPayload()).isEqualTo(bytes("first"));
+        assertThat(second.getType()).isEqualTo(RecordCodec.DELETE);
+        assertThat(second.getPayload()).isEmpty();
+        assertThat(third.getType()).isEqualTo(RecordCodec.META);
+        assertThat(third.getPayload()).isEqualTo(bytes("third"));
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(RecordCodec.decode(buffer)).isNull();
+    }
+
+    @Test
+    void truncatedRecordIsNotDecoded() {
+        ByteBuffer encoded = RecordCodec.encode(RecordCodec.PUT, bytes("payload"));
+        for (int length = 0; length < encoded.limit(); length++) {
+            ByteBuffer torn = encoded.duplicate().limit(length);
+
+            assertThat(RecordCodec.decode(torn)).as("first %d bytes", length).isNull();
+            assertThat(torn.position()).isZero();
+        }
+    }
+
+    @Test
+    void corruptRecordIsNotDecoded() {
+        ByteBuffer good = RecordCodec.encode(RecordCodec.PUT, bytes("good"));
+        ByteBuffer corrupt = RecordCodec.encode(RecordCodec.PUT, bytes("corrupt"));
+        corrupt.put(corrupt.limit() - 1, (byte) (corrupt.get(corrupt.limit() - 1) ^ 1));
+        ByteBuffer buffer = concat(good, corrupt);
+
+        assertThat(RecordCodec.decode(buffer)).isNotNull();
+        int corruptStart = buffer.position();
+        assertThat(RecordCodec.decode(buffer)).isNull();
+        assertThat(buffer.position()).isEqualTo(corruptStart);
+    }
+
+    @Test
+    void unknownTypeIsNotDecoded() {
+        ByteBuffer buffer = RecordCodec.encode((byte) 9, bytes("payload"));
+
+        assertThat(RecordCodec.decode(buffer)).isNull();
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void implausibleLengthIsNotDecoded() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.putInt(Integer.MAX_VALUE).putInt(0).put(RecordCodec.PUT).flip();
+
+        assertThat(RecordCodec.decode(buffer)).isNull();
+        assertThat(buffer.position()).isZero();
+    }
+
+    static ByteBuffer concat(ByteBuffer... records) {
+        int size = 0;
+        for (ByteBuffer record : records) {
+            size += record.remaining();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (ByteBuffer record : records) {
+            buffer.put(record.duplicate());
+        }
+        return buffer.flip();
+    }
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file